@@ -0,0 +1,101 @@
+package com.evbooking.backend.infrastructure.repository;
+
+import com.evbooking.backend.EvBookingBackendApplication;
+import com.evbooking.backend.domain.model.OtpRequest;
+import com.evbooking.backend.domain.model.UserRole;
+import com.evbooking.backend.domain.model.UserStatus;
+import com.evbooking.backend.infrastructure.entity.UserEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk inserts against a real Postgres (Testcontainers, needs Docker). batchSize=1 is
+ * what IDENTITY ids forced before; with pooled sequences Hibernate can group inserts
+ * into JDBC batches. Run with -PjmhInclude=BatchInsert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchInsertBenchmark {
+
+    @Param({"1", "25"})
+    public int batchSize;
+
+    @Param({"200"})
+    public int rows;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private JpaUserRepository userRepository;
+    private OtpRequestRepositoryImpl otpRequestRepository;
+    private long nextPhoneNumber = 6_000_000_000L;
+
+    @Setup(Level.Trial)
+    public void start() {
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+        postgres.start();
+
+        context = new SpringApplicationBuilder(EvBookingBackendApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=" + postgres.getJdbcUrl(),
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword(),
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "app.otp.store.type=database",
+                "logging.level.root=WARN")
+            .run();
+
+        userRepository = context.getBean(JpaUserRepository.class);
+        otpRequestRepository = context.getBean(OtpRequestRepositoryImpl.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public List<UserEntity> bulkCreateUsers() {
+        List<UserEntity> users = new ArrayList<>(rows);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < rows; i++) {
+            UserEntity user = new UserEntity();
+            user.setPhoneNumber(Long.toString(nextPhoneNumber++));
+            user.setRole(UserRole.CUSTOMER);
+            user.setStatus(UserStatus.ACTIVE);
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+
+    @Benchmark
+    public void otpAuditWrite() {
+        List<OtpRequest> otps = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            OtpRequest otp = new OtpRequest(Long.toString(nextPhoneNumber++), "1234", OtpRequest.OtpType.LOGIN);
+            otp.markAsVerified();
+            otps.add(otp);
+        }
+        otpRequestRepository.saveAll(otps);
+    }
+}
@@ -0,0 +1,81 @@
+package com.evbooking.backend.infrastructure.security;
+
+import com.evbooking.backend.infrastructure.cluster.LocalClusterEventBus;
+import com.evbooking.backend.infrastructure.web.ApiResponseWriter;
+import com.evbooking.backend.usecase.service.JwtTestFixtures;
+import com.evbooking.backend.usecase.service.JwtTokenService;
+import com.evbooking.backend.usecase.service.TokenRevocationRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * One full pass of the JWT filter: an authenticated API request, a client-token
+ * auth request and an auth request without one. Lives in the filter's package to call doFilterInternal directly.
+ */
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"full", "compact"})
+    public String profile;
+
+    @Param({"false", "true"})
+    public boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest apiRequest;
+    private MockHttpServletRequest authRequest;
+    private MockHttpServletRequest unauthorizedRequest;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtTokenService service = JwtTestFixtures.tokenService(profile, tokenCache);
+        // Never loaded from the database; the revocation check is an empty-map lookup
+        TokenRevocationRegistry revocations = new TokenRevocationRegistry(null, new LocalClusterEventBus(), 3_600_000);
+        filter = new JwtAuthenticationFilter(service, revocations, new ApiResponseWriter(new ObjectMapper()));
+        ReflectionTestUtils.setField(filter, "clientToken", "Bearer static-client-token");
+
+        apiRequest = new MockHttpServletRequest("GET", "/api/customer/bookings");
+        apiRequest.addHeader("Authorization", "Bearer " + service.generateAccessToken(JwtTestFixtures.user()));
+
+        authRequest = new MockHttpServletRequest("POST", "/api/auth/send-otp");
+        authRequest.addHeader("Authorization", "Bearer " + service.generateClientApiToken());
+
+        unauthorizedRequest = new MockHttpServletRequest("POST", "/api/auth/send-otp");
+
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequest() throws Exception {
+        filter.doFilterInternal(apiRequest, response, chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    @Benchmark
+    public int clientTokenRequest() throws Exception {
+        filter.doFilterInternal(authRequest, response, chain);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int rejectedClientTokenRequest() throws Exception {
+        // A fresh response each time, as the rejection writes its body
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilterInternal(unauthorizedRequest, rejected, chain);
+        return rejected.getStatus();
+    }
+}
@@ -0,0 +1,50 @@
+package com.evbooking.backend.usecase.service;
+
+import com.evbooking.backend.usecase.exception.AuthException;
+import com.evbooking.backend.usecase.exception.OtpException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of rejecting a request, thrown from {@code depth} frames down to roughly match
+ * a service call under the Spring filter chain and proxies.
+ */
+@State(Scope.Benchmark)
+public class AuthFailureBenchmark {
+
+    @Param({"10", "150"})
+    public int depth;
+
+    @Benchmark
+    public String newRuntimeException() {
+        try {
+            throwFrom(depth, true);
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String preallocatedAuthException() {
+        try {
+            throwFrom(depth, false);
+            return null;
+        } catch (AuthException e) {
+            return e.getErrorCode().name();
+        }
+    }
+
+    private static void throwFrom(int frames, boolean legacy) {
+        if (frames > 0) {
+            throwFrom(frames - 1, legacy);
+            return;
+        }
+        if (legacy) {
+            throw new RuntimeException("Invalid OTP");
+        }
+        throw OtpException.INVALID;
+    }
+}
@@ -0,0 +1,54 @@
+package com.evbooking.backend.usecase.service;
+
+import com.evbooking.backend.domain.model.AuthenticatedUser;
+import com.evbooking.backend.domain.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+
+@State(Scope.Benchmark)
+public class JwtTokenServiceBenchmark {
+
+    @Param({"full", "compact"})
+    public String profile;
+
+    @Param({"false", "true"})
+    public boolean tokenCache;
+
+    private JwtTokenService service;
+    private User user;
+    private String accessToken;
+    private String clientToken;
+
+    @Setup
+    public void setUp() {
+        service = JwtTestFixtures.tokenService(profile, tokenCache);
+        user = JwtTestFixtures.user();
+        accessToken = service.generateAccessToken(user);
+        clientToken = service.generateClientApiToken();
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return service.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return service.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public Optional<AuthenticatedUser> verifyAccessToken() {
+        return service.verifyAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public boolean isClientApiToken() {
+        return service.isClientApiToken(clientToken);
+    }
+}
@@ -0,0 +1,58 @@
+package com.evbooking.backend.domain.model;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * Immutable view of a verified access token. Built once per request by
+ * {@code JwtTokenService.verifyAccessToken} and stored as the authentication
+ * principal, so downstream code never has to parse the token again.
+ *
+ * <p>Compact tokens carry no profile, so phone number and status are null for them; code
+ * that needs either goes through {@code AuthenticatedUserResolver.withProfile}.
+ */
+public final class AuthenticatedUser implements Principal {
+    private final Long userId;
+    private final String phoneNumber;
+    private final UserRole role;
+    private final UserStatus status;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public AuthenticatedUser(Long userId, String phoneNumber, UserRole role, UserStatus status,
+                             Instant issuedAt, Instant expiresAt) {
+        this.userId = userId;
+        this.phoneNumber = phoneNumber;
+        this.role = role;
+        this.status = status;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getUserId() { return userId; }
+    // Null for compact tokens, see hasProfile
+    public String getPhoneNumber() { return phoneNumber; }
+    public UserRole getRole() { return role; }
+    // Null for compact tokens, see hasProfile
+    public UserStatus getStatus() { return status; }
+    public Instant getIssuedAt() { return issuedAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+
+    public boolean hasProfile() {
+        return phoneNumber != null && status != null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    @Override
+    public String getName() {
+        return phoneNumber != null ? phoneNumber : String.valueOf(userId);
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{userId=" + userId + ", role=" + role + "}";
+    }
+}
@@ -3,6 +3,8 @@ package com.evbooking.backend.domain.model;
 import java.time.LocalDateTime;
 
 public class OtpRequest {
+    public static final int MAX_ATTEMPTS = 3;
+
     private Long id;
     private String mobileNumber;
     private String otpCode;
@@ -58,12 +60,12 @@ public class OtpRequest {
     }
 
     public boolean canRetry() {
-        return attemptCount < 3 && !isExpired() && status == OtpStatus.PENDING;
+        return attemptCount < MAX_ATTEMPTS && !isExpired() && status == OtpStatus.PENDING;
     }
 
     public void incrementAttempt() {
         this.attemptCount++;
-        if (this.attemptCount >= 3) {
+        if (this.attemptCount >= MAX_ATTEMPTS) {
             this.status = OtpStatus.FAILED;
         }
     }
@@ -73,6 +75,20 @@ public class OtpRequest {
         this.verifiedAt = LocalDateTime.now();
     }
 
+    /**
+     * Applies one verification attempt to a pending OTP. Stores that verify in place
+     * call this under their own per-number lock.
+     */
+    public void applyVerificationAttempt(String code) {
+        if (isExpired()) {
+            this.status = OtpStatus.EXPIRED;
+        } else if (otpCode.equals(code)) {
+            markAsVerified();
+        } else {
+            incrementAttempt();
+        }
+    }
+
     public enum OtpStatus {
         PENDING,
         VERIFIED,
@@ -85,4 +101,20 @@ public class OtpRequest {
         REGISTRATION,
         PASSWORD_RESET
     }
+
+    public enum VerificationOutcome {
+        VERIFIED,
+        INVALID_CODE,
+        EXPIRED,
+        NOT_FOUND;
+
+        // Status of the OTP after the attempt; a wrong code leaves it PENDING or FAILED
+        public static VerificationOutcome fromStatus(OtpStatus status) {
+            return switch (status) {
+                case VERIFIED -> VERIFIED;
+                case EXPIRED -> EXPIRED;
+                case PENDING, FAILED -> INVALID_CODE;
+            };
+        }
+    }
 }
\ No newline at end of file
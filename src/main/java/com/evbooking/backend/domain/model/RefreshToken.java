@@ -4,7 +4,8 @@ import java.time.LocalDateTime;
 
 public class RefreshToken {
     private Long id;
-    private String token;
+    private String token; // only known when the token is issued; never persisted
+    private byte[] tokenHash;
     private Long userId;
     private LocalDateTime expiresAt;
     private LocalDateTime createdAt;
@@ -20,6 +21,16 @@ public class RefreshToken {
         this.revoked = false;
     }
 
+    public RefreshToken(Long id, byte[] tokenHash, Long userId, LocalDateTime expiresAt,
+                        LocalDateTime createdAt, boolean revoked) {
+        this.id = id;
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+        this.createdAt = createdAt;
+        this.revoked = revoked;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -27,6 +38,9 @@ public class RefreshToken {
     public String getToken() { return token; }
     public void setToken(String token) { this.token = token; }
 
+    public byte[] getTokenHash() { return tokenHash; }
+    public void setTokenHash(byte[] tokenHash) { this.tokenHash = tokenHash; }
+
     public Long getUserId() { return userId; }
     public void setUserId(Long userId) { this.userId = userId; }
 
@@ -28,6 +28,21 @@ public class User {
         this.updatedAt = LocalDateTime.now();
     }
 
+    // Full state, for read-only queries that build the domain object straight from columns
+    public User(Long id, String email, String password, String firstName, String lastName, String phoneNumber,
+                UserRole role, UserStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.phoneNumber = phoneNumber;
+        this.role = role;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
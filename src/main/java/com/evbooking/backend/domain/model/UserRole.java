@@ -1,7 +1,27 @@
 package com.evbooking.backend.domain.model;
 
 public enum UserRole {
-    CUSTOMER,
-    STATION_OWNER,
-    ADMIN
-}
\ No newline at end of file
+    CUSTOMER("C"),
+    STATION_OWNER("O"),
+    ADMIN("A");
+
+    // Short form used in compact access tokens
+    private final String code;
+
+    UserRole(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public static UserRole fromCode(String code) {
+        for (UserRole role : values()) {
+            if (role.code.equals(code)) {
+                return role;
+            }
+        }
+        throw new IllegalArgumentException("Unknown role code: " + code);
+    }
+}
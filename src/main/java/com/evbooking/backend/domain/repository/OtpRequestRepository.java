@@ -9,7 +9,24 @@ public interface OtpRequestRepository {
     Optional<OtpRequest> findByMobileNumberAndStatus(String mobileNumber, OtpRequest.OtpStatus status);
     Optional<OtpRequest> findLatestByMobileNumber(String mobileNumber);
     OtpRequest save(OtpRequest otpRequest);
+
+    /**
+     * Saves a new pending OTP for its number and expires any OTP still pending for it in
+     * the same step, so a concurrent verification sees one or the other, never both.
+     */
+    OtpRequest replacePending(OtpRequest otpRequest);
+
+    /**
+     * Checks the code against the pending OTP for the number and records the attempt
+     * (verified, expired, or one more failed try) atomically, so concurrent attempts
+     * cannot both succeed.
+     */
+    OtpRequest.VerificationOutcome verify(String mobileNumber, String otpCode);
     void deleteById(Long id);
     void deleteExpiredOtps(LocalDateTime before);
-    int countByMobileNumberAndCreatedAtAfter(String mobileNumber, LocalDateTime after);
+    /**
+     * Counts OTPs sent since {@code after} to a number however it was formatted when
+     * stored; {@code digits} is the number's last ten digits.
+     */
+    int countByMobileNumberAndCreatedAtAfter(String digits, LocalDateTime after);
 }
\ No newline at end of file
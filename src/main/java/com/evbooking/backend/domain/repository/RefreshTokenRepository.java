@@ -10,4 +10,9 @@ public interface RefreshTokenRepository {
     void deleteById(Long id);
     void deleteByUserId(Long userId);
     void deleteByToken(String token);
+
+    /**
+     * Marks the token revoked without loading it. Returns false if no such token exists.
+     */
+    boolean revokeByToken(String token);
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.evbooking.backend.domain.repository;
 
 import com.evbooking.backend.domain.model.User;
+import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 public interface UserRepository {
@@ -8,7 +10,23 @@ public interface UserRepository {
     Optional<User> findByEmail(String email);
     Optional<User> findByPhoneNumber(String phoneNumber);
     User save(User user);
+
+    /**
+     * Returns the user with this phone number, inserting the given user first if there
+     * is none. Safe against concurrent first logins for the same number.
+     */
+    User upsertByPhoneNumber(User user);
     void deleteById(Long id);
     boolean existsByEmail(String email);
     boolean existsByPhoneNumber(String phoneNumber);
+
+    /**
+     * Records that access tokens issued to the user before {@code cutoff} are no longer valid.
+     */
+    void revokeTokensIssuedBefore(Long userId, LocalDateTime cutoff);
+
+    /**
+     * Users with a token revocation cutoff later than {@code since}, mapped to that cutoff.
+     */
+    Map<Long, LocalDateTime> findTokenRevocationsAfter(LocalDateTime since);
 }
\ No newline at end of file
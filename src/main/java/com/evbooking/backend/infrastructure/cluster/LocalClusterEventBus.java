@@ -0,0 +1,41 @@
+package com.evbooking.backend.infrastructure.cluster;
+
+import com.evbooking.backend.usecase.service.ClusterEventBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Single-node bus: messages go straight to this node's subscribers.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.event-bus", havingValue = "local", matchIfMissing = true)
+public class LocalClusterEventBus implements ClusterEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalClusterEventBus.class);
+
+    private final ConcurrentMap<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String channel, String message) {
+        for (Consumer<String> listener : subscribers.getOrDefault(channel, List.of())) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                logger.warn("Listener on {} failed: {}", channel, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        subscribers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+}
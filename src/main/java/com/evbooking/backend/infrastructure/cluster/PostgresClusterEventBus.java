@@ -0,0 +1,141 @@
+package com.evbooking.backend.infrastructure.cluster;
+
+import com.evbooking.backend.usecase.service.ClusterEventBus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bus over Postgres LISTEN/NOTIFY, for deployments without Redis. Publishing is a
+ * pg_notify on a pooled connection; listening holds one connection of its own, opened
+ * outside the pool so it never takes a slot from request traffic. Notifications sent
+ * while the listener is reconnecting are lost to this node.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.event-bus", havingValue = "postgres")
+public class PostgresClusterEventBus implements ClusterEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresClusterEventBus.class);
+
+    private static final String CHANNEL_PREFIX = "cluster:";
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final ConcurrentMap<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresClusterEventBus(JdbcTemplate jdbcTemplate,
+                                   @Value("${spring.datasource.url}") String url,
+                                   @Value("${spring.datasource.username}") String username,
+                                   @Value("${spring.datasource.password}") String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "cluster-event-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        listener.interrupt();
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        try {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL_PREFIX + channel, message);
+        } catch (RuntimeException e) {
+            // Other nodes fall back to their own expiry
+            logger.warn("Cannot publish to {}: {}", channel, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        // The listener thread picks up new channels on its next poll
+        subscribers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                Set<String> listening = new HashSet<>();
+
+                while (running) {
+                    for (String channel : subscribers.keySet()) {
+                        if (listening.add(channel)) {
+                            try (Statement statement = connection.createStatement()) {
+                                statement.execute("LISTEN \"" + CHANNEL_PREFIX + channel + "\"");
+                            }
+                        }
+                    }
+
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getName().substring(CHANNEL_PREFIX.length()), notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    logger.warn("Cluster event listener disconnected, reconnecting: {}", e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void dispatch(String channel, String message) {
+        for (Consumer<String> listener : subscribers.getOrDefault(channel, List.of())) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                logger.warn("Listener on {} failed: {}", channel, e.getMessage());
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
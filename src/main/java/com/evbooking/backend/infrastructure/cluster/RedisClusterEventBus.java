@@ -0,0 +1,61 @@
+package com.evbooking.backend.infrastructure.cluster;
+
+import com.evbooking.backend.usecase.service.ClusterEventBus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub bus. Messages published while a node is disconnected are lost to it,
+ * which is why subscribers only use the bus to shorten staleness, never to ensure it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.event-bus", havingValue = "redis")
+public class RedisClusterEventBus implements ClusterEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisClusterEventBus.class);
+
+    private static final String CHANNEL_PREFIX = "cluster:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer container;
+
+    public RedisClusterEventBus(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory) {
+        this.redisTemplate = redisTemplate;
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+        this.container.afterPropertiesSet();
+        this.container.start();
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL_PREFIX + channel, message);
+        } catch (RuntimeException e) {
+            // Other nodes fall back to their own expiry
+            logger.warn("Cannot publish to {}: {}", channel, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        container.addMessageListener(
+            (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(CHANNEL_PREFIX + channel));
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        container.destroy();
+    }
+}
@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 public class OtpRequestEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "otp_requests_seq")
+    @SequenceGenerator(name = "otp_requests_seq", sequenceName = "otp_requests_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "mobile_number", nullable = false, length = 15)
@@ -8,11 +8,13 @@ import java.time.LocalDateTime;
 public class RefreshTokenEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_seq")
+    @SequenceGenerator(name = "refresh_tokens_seq", sequenceName = "refresh_tokens_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 500)
-    private String token;
+    // SHA-256 of the token; the token itself is not stored
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
 
     @Column(name = "user_id", nullable = false)
     private Long userId;
@@ -32,8 +34,8 @@ public class RefreshTokenEntity {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
-    public String getToken() { return token; }
-    public void setToken(String token) { this.token = token; }
+    public byte[] getTokenHash() { return tokenHash; }
+    public void setTokenHash(byte[] tokenHash) { this.tokenHash = tokenHash; }
 
     public Long getUserId() { return userId; }
     public void setUserId(Long userId) { this.userId = userId; }
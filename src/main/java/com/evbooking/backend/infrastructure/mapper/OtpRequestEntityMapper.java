@@ -0,0 +1,14 @@
+package com.evbooking.backend.infrastructure.mapper;
+
+import com.evbooking.backend.domain.model.OtpRequest;
+import com.evbooking.backend.infrastructure.entity.OtpRequestEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface OtpRequestEntityMapper {
+
+    OtpRequest toDomain(OtpRequestEntity entity);
+
+    OtpRequestEntity toEntity(OtpRequest otpRequest);
+}
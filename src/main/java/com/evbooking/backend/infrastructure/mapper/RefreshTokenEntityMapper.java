@@ -0,0 +1,20 @@
+package com.evbooking.backend.infrastructure.mapper;
+
+import com.evbooking.backend.domain.model.RefreshToken;
+import com.evbooking.backend.infrastructure.entity.RefreshTokenEntity;
+import com.evbooking.backend.usecase.service.TokenDigest;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR, imports = TokenDigest.class)
+public interface RefreshTokenEntityMapper {
+
+    // The raw token is never persisted, so it cannot be read back
+    @Mapping(target = "token", ignore = true)
+    RefreshToken toDomain(RefreshTokenEntity entity);
+
+    @Mapping(target = "tokenHash", expression =
+        "java(refreshToken.getTokenHash() != null ? refreshToken.getTokenHash() : TokenDigest.sha256(refreshToken.getToken()))")
+    RefreshTokenEntity toEntity(RefreshToken refreshToken);
+}
@@ -0,0 +1,15 @@
+package com.evbooking.backend.infrastructure.mapper;
+
+import com.evbooking.backend.domain.model.User;
+import com.evbooking.backend.infrastructure.entity.UserEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+// Generated at build time; a column added to one side and not the other fails compilation
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface UserEntityMapper {
+
+    User toDomain(UserEntity entity);
+
+    UserEntity toEntity(User user);
+}
@@ -0,0 +1,38 @@
+package com.evbooking.backend.infrastructure.observability;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the pool in a datasource-proxy so per-request statement counts, rows and
+ * database time can be recorded by {@link QueryMetricsFilter}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMetricsConfig {
+
+    // Static so the post-processor is registered before the DataSource is created
+    @Bean
+    public static BeanPostProcessor queryStatsDataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    QueryStatsListener listener = new QueryStatsListener();
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(listener)
+                        .methodListener(listener)
+                        .proxyResultSet()
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
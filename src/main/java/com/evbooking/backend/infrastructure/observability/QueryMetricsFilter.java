@@ -0,0 +1,75 @@
+package com.evbooking.backend.infrastructure.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the JDBC work of each request per endpoint pattern: db.request.statements,
+ * db.request.rows and db.request.time, tagged with method and uri. Runs outside the
+ * security chain so lookups made while authenticating are charged to the request too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.query-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryMetricsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        QueryStats stats = QueryStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStats.end();
+            request.setAttribute(QueryStats.REQUEST_ATTRIBUTE, stats);
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        // Mapped pattern, not the raw path, to keep tag cardinality bounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("db.request.statements").tags(tags).register(meterRegistry)
+            .record(stats.getStatements());
+        DistributionSummary.builder("db.request.rows").tags(tags).register(meterRegistry)
+            .record(stats.getRows());
+        Timer.builder("db.request.time").tags(tags).register(meterRegistry)
+            .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatements() > 0) {
+            logger.debug("{} {}: {}", request.getMethod(), uri, stats);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.evbooking.backend.infrastructure.observability;
+
+/**
+ * JDBC work done by one request: statements executed, rows read and time spent waiting
+ * on the database. Bound to the request thread by {@link QueryMetricsFilter} and filled
+ * in by {@link QueryStatsListener}; work on other threads (audit flushes, purges) is not
+ * attributed to any request.
+ */
+public final class QueryStats {
+
+    /** Request attribute holding the finished stats, for tests and error handlers. */
+    public static final String REQUEST_ATTRIBUTE = QueryStats.class.getName();
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long nanos;
+    private long queryStartedAt;
+
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Stats for the current thread, or null outside a tracked request.
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    void queryStarted() {
+        queryStartedAt = System.nanoTime();
+    }
+
+    void queryFinished() {
+        statements++;
+        nanos += System.nanoTime() - queryStartedAt;
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    public int getStatements() { return statements; }
+    public long getRows() { return rows; }
+    public long getNanos() { return nanos; }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows, " + nanos / 1_000_000 + " ms";
+    }
+}
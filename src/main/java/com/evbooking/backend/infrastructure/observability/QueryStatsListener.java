@@ -0,0 +1,50 @@
+package com.evbooking.backend.infrastructure.observability;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * datasource-proxy listener feeding the current thread's {@link QueryStats}. A JDBC batch
+ * counts as one statement since it is one round trip.
+ */
+class QueryStatsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.queryStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.queryFinished();
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        // Rows are counted as they are read, so unbounded result sets show up even when only the first is used
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            QueryStats stats = QueryStats.current();
+            if (stats != null) {
+                stats.rowRead();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.evbooking.backend.infrastructure.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Times every call through the domain repository interfaces; see
+ * {@link RepositoryTimingPostProcessor}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.repository-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryMetricsConfig {
+
+    // Static so the post-processor is registered before the repositories are created
+    @Bean
+    public static RepositoryTimingPostProcessor repositoryTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryTimingPostProcessor(meterRegistry);
+    }
+}
@@ -0,0 +1,134 @@
+package com.evbooking.backend.infrastructure.observability;
+
+import com.evbooking.backend.domain.repository.OtpRequestRepository;
+import com.evbooking.backend.domain.repository.RefreshTokenRepository;
+import com.evbooking.backend.domain.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps every bean implementing a domain repository interface so each interface method
+ * records into the {@code repository.calls} timer, with percentile histograms. Tags are
+ * the interface, the method, the implementing class and success or error, all bounded by
+ * the code. Decorators are timed as well as what they wrap: CachingUserRepository against
+ * UserRepositoryImpl shows how much of a lookup the database accounts for.
+ */
+public class RepositoryTimingPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    private static final List<Class<?>> REPOSITORIES =
+        List.of(UserRepository.class, OtpRequestRepository.class, RefreshTokenRepository.class);
+
+    public RepositoryTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.advisor = new DefaultPointcutAdvisor(new RepositoryMethodPointcut(), new TimingInterceptor(meterRegistry));
+        // Outside any transaction advice, so commit time is counted
+        setBeforeExistingAdvisors(true);
+        // Decorators inject the implementations they wrap by class
+        setProxyTargetClass(true);
+    }
+
+    private static Class<?> repositoryOf(Class<?> targetClass) {
+        for (Class<?> repository : REPOSITORIES) {
+            if (repository.isAssignableFrom(targetClass)) {
+                return repository;
+            }
+        }
+        return null;
+    }
+
+    private static final class RepositoryMethodPointcut extends StaticMethodMatcherPointcut {
+
+        RepositoryMethodPointcut() {
+            setClassFilter(targetClass -> repositoryOf(targetClass) != null);
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            Class<?> repository = repositoryOf(targetClass);
+            return repository != null && ClassUtils.hasMethod(repository, method.getName(), method.getParameterTypes());
+        }
+    }
+
+    private static final class TimingInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final ConcurrentMap<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+        TimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = invocation.proceed();
+                failed = false;
+                return result;
+            } finally {
+                MethodTimers methodTimers = timersFor(invocation);
+                (failed ? methodTimers.error() : methodTimers.success)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private MethodTimers timersFor(MethodInvocation invocation) {
+            MethodTimers cached = timers.get(invocation.getMethod());
+            if (cached != null) {
+                return cached;
+            }
+            // The registry is resolved on first use; a post-processor must not create it early
+            return timers.computeIfAbsent(invocation.getMethod(), method -> new MethodTimers(
+                meterRegistry.getObject(), ClassUtils.getUserClass(invocation.getThis()), method));
+        }
+    }
+
+    private static final class MethodTimers {
+
+        private final MeterRegistry registry;
+        private final Class<?> targetClass;
+        private final Method method;
+        private final Timer success;
+        // Most methods never fail, and every timer carries a histogram, so this one waits for the first failure
+        private volatile Timer error;
+
+        MethodTimers(MeterRegistry registry, Class<?> targetClass, Method method) {
+            this.registry = registry;
+            this.targetClass = targetClass;
+            this.method = method;
+            this.success = timer("success");
+        }
+
+        Timer error() {
+            Timer current = error;
+            if (current == null) {
+                // Registering twice returns the same meter, so a race only repeats the lookup
+                current = error = timer("error");
+            }
+            return current;
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder("repository.calls")
+                .tag("repository", repositoryOf(targetClass).getSimpleName())
+                .tag("method", method.getName())
+                .tag("implementation", targetClass.getSimpleName())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.evbooking.backend.infrastructure.otp;
+
+import com.evbooking.backend.domain.model.OtpRequest;
+import com.evbooking.backend.infrastructure.repository.OtpAuditWriter;
+import com.evbooking.backend.usecase.service.OtpStateStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Per-node OTP store. Entries expire at the OTP's own expiry; an OTP that lapses
+ * while still pending is handed to the audit writer as EXPIRED, so it still leaves
+ * a row behind. Callers only ever see copies, so entries change only under the cache's
+ * per-key lock.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store.type", havingValue = "memory")
+public class InMemoryOtpStateStore implements OtpStateStore {
+
+    private final Cache<String, OtpRequest> cache;
+
+    public InMemoryOtpStateStore(OtpAuditWriter auditWriter,
+                                 @Value("${app.otp.store.maximum-size:100000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new OtpExpiry())
+                // Expire on time rather than on the next cache access, so audit rows are not held back
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((String mobileNumber, OtpRequest otp, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && otp != null && otp.getStatus() == OtpRequest.OtpStatus.PENDING) {
+                        otp.setStatus(OtpRequest.OtpStatus.EXPIRED);
+                        auditWriter.enqueue(otp);
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Optional<OtpRequest> find(String mobileNumber) {
+        return Optional.ofNullable(cache.getIfPresent(mobileNumber)).map(InMemoryOtpStateStore::copy);
+    }
+
+    @Override
+    public void put(OtpRequest otpRequest) {
+        cache.put(otpRequest.getMobileNumber(), copy(otpRequest));
+    }
+
+    @Override
+    public Optional<OtpRequest> replace(OtpRequest otpRequest) {
+        OtpRequest[] displaced = new OtpRequest[1];
+        // Same entry lock as verify, so an attempt sees either the old OTP or the new one
+        cache.asMap().compute(otpRequest.getMobileNumber(), (key, previous) -> {
+            if (previous != null && previous.getStatus() == OtpRequest.OtpStatus.PENDING) {
+                previous.setStatus(OtpRequest.OtpStatus.EXPIRED);
+                displaced[0] = previous;
+            }
+            return copy(otpRequest);
+        });
+        return Optional.ofNullable(displaced[0]);
+    }
+
+    @Override
+    public void remove(String mobileNumber) {
+        cache.invalidate(mobileNumber);
+    }
+
+    @Override
+    public Optional<OtpRequest> verify(String mobileNumber, String otpCode) {
+        OtpRequest[] attempted = new OtpRequest[1];
+        // computeIfPresent holds the entry's lock, so concurrent attempts run one at a time
+        cache.asMap().computeIfPresent(mobileNumber, (key, otp) -> {
+            if (otp.getStatus() != OtpRequest.OtpStatus.PENDING) {
+                return otp;
+            }
+            otp.applyVerificationAttempt(otpCode);
+            attempted[0] = copy(otp);
+            return otp.getStatus() == OtpRequest.OtpStatus.PENDING ? otp : null;
+        });
+        return Optional.ofNullable(attempted[0]);
+    }
+
+    private static OtpRequest copy(OtpRequest otp) {
+        OtpRequest copy = new OtpRequest();
+        copy.setId(otp.getId());
+        copy.setMobileNumber(otp.getMobileNumber());
+        copy.setOtpCode(otp.getOtpCode());
+        copy.setStatus(otp.getStatus());
+        copy.setType(otp.getType());
+        copy.setAttemptCount(otp.getAttemptCount());
+        copy.setCreatedAt(otp.getCreatedAt());
+        copy.setExpiresAt(otp.getExpiresAt());
+        copy.setVerifiedAt(otp.getVerifiedAt());
+        return copy;
+    }
+
+    private static final class OtpExpiry implements Expiry<String, OtpRequest> {
+        @Override
+        public long expireAfterCreate(String key, OtpRequest otp, long currentTime) {
+            return Math.max(0, Duration.between(LocalDateTime.now(), otp.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, OtpRequest otp, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, otp, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, OtpRequest otp, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.evbooking.backend.infrastructure.otp;
+
+import com.evbooking.backend.domain.model.OtpRequest;
+import com.evbooking.backend.infrastructure.repository.OtpAuditWriter;
+import com.evbooking.backend.usecase.service.OtpStateStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * OTP store shared by every node, one JSON value per number. Entries outlive the OTP by
+ * a grace period, so a late attempt is told the OTP expired rather than not found, and a
+ * sorted set of expiry times lets the sweeper hand lapsed pending OTPs to the audit
+ * writer before Redis drops them.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store.type", havingValue = "redis")
+public class RedisOtpStateStore implements OtpStateStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisOtpStateStore.class);
+
+    private static final String KEY_PREFIX = "otp:live:";
+    // Member per live number, scored by the OTP's expiry in epoch milliseconds
+    private static final String EXPIRY_INDEX = "otp:expiry";
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private static final RedisScript<Void> PUT_SCRIPT = new DefaultRedisScript<>(
+        "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+        "redis.call('ZADD', KEYS[2], ARGV[4], ARGV[3])",
+        Void.class);
+
+    private static final RedisScript<String> REPLACE_SCRIPT = new DefaultRedisScript<>(
+        "local raw = redis.call('GET', KEYS[1]) " +
+        "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+        "redis.call('ZADD', KEYS[2], ARGV[4], ARGV[3]) " +
+        "if not raw then return false end " +
+        "local ok, otp = pcall(cjson.decode, raw) " +
+        "if not ok or otp['status'] ~= 'PENDING' then return false end " +
+        "otp['status'] = 'EXPIRED' " +
+        "return cjson.encode(otp)",
+        String.class);
+
+    private static final RedisScript<Void> REMOVE_SCRIPT = new DefaultRedisScript<>(
+        "redis.call('DEL', KEYS[1]) " +
+        "redis.call('ZREM', KEYS[2], ARGV[1])",
+        Void.class);
+
+    // Expiry is judged by the index score, not the key's TTL, which includes the grace period
+    private static final RedisScript<String> VERIFY_SCRIPT = new DefaultRedisScript<>(
+        "local raw = redis.call('GET', KEYS[1]) " +
+        "if not raw then return false end " +
+        "local otp = cjson.decode(raw) " +
+        "if otp['status'] ~= 'PENDING' then return false end " +
+        "local deadline = redis.call('ZSCORE', KEYS[2], ARGV[4]) " +
+        "if deadline and tonumber(deadline) <= tonumber(ARGV[5]) then " +
+        "  otp['status'] = 'EXPIRED' " +
+        "elseif otp['otpCode'] == ARGV[1] then " +
+        "  otp['status'] = 'VERIFIED' " +
+        "  otp['verifiedAt'] = ARGV[2] " +
+        "else " +
+        "  otp['attemptCount'] = otp['attemptCount'] + 1 " +
+        "  if otp['attemptCount'] >= tonumber(ARGV[3]) then " +
+        "    otp['status'] = 'FAILED' " +
+        "  end " +
+        "end " +
+        "if otp['status'] == 'PENDING' then " +
+        "  redis.call('SET', KEYS[1], cjson.encode(otp), 'KEEPTTL') " +
+        "else " +
+        "  redis.call('DEL', KEYS[1]) " +
+        "  redis.call('ZREM', KEYS[2], ARGV[4]) " +
+        "end " +
+        "return cjson.encode(otp)",
+        String.class);
+
+    // Re-checks the score so an OTP re-issued since the sweep read the index is left alone
+    private static final RedisScript<String> EXPIRE_SCRIPT = new DefaultRedisScript<>(
+        "local deadline = redis.call('ZSCORE', KEYS[2], ARGV[1]) " +
+        "if not deadline or tonumber(deadline) > tonumber(ARGV[2]) then return false end " +
+        "redis.call('ZREM', KEYS[2], ARGV[1]) " +
+        "local raw = redis.call('GET', KEYS[1]) " +
+        "if not raw then return false end " +
+        "redis.call('DEL', KEYS[1]) " +
+        "local otp = cjson.decode(raw) " +
+        "if otp['status'] ~= 'PENDING' then return false end " +
+        "otp['status'] = 'EXPIRED' " +
+        "return cjson.encode(otp)",
+        String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final OtpAuditWriter auditWriter;
+    private final Duration expiryGrace;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public RedisOtpStateStore(StringRedisTemplate redisTemplate,
+                              ObjectMapper objectMapper,
+                              OtpAuditWriter auditWriter,
+                              @Value("${app.otp.store.redis.expiry-grace:10m}") Duration expiryGrace) {
+        this.redisTemplate = redisTemplate;
+        this.auditWriter = auditWriter;
+        this.expiryGrace = expiryGrace;
+        // OtpRequest exposes derived getters (isExpired, canRetry) that are not settable
+        this.reader = objectMapper.readerFor(OtpRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.writer = objectMapper.writerFor(OtpRequest.class);
+    }
+
+    @Override
+    public Optional<OtpRequest> find(String mobileNumber) {
+        String json = redisTemplate.opsForValue().get(KEY_PREFIX + mobileNumber);
+        if (json == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(reader.readValue(json));
+        } catch (JsonProcessingException e) {
+            logger.warn("Discarding unreadable OTP entry: {}", e.getMessage());
+            remove(mobileNumber);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(OtpRequest otpRequest) {
+        Duration ttl = Duration.between(LocalDateTime.now(), otpRequest.getExpiresAt());
+        if (ttl.isNegative() || ttl.isZero()) {
+            remove(otpRequest.getMobileNumber());
+            return;
+        }
+        String mobileNumber = otpRequest.getMobileNumber();
+        redisTemplate.execute(PUT_SCRIPT, keys(mobileNumber), serialize(otpRequest),
+            Long.toString(ttl.plus(expiryGrace).toMillis()), mobileNumber,
+            Long.toString(epochMillis(otpRequest.getExpiresAt())));
+    }
+
+    @Override
+    public Optional<OtpRequest> replace(OtpRequest otpRequest) {
+        Duration ttl = Duration.between(LocalDateTime.now(), otpRequest.getExpiresAt()).plus(expiryGrace);
+        String mobileNumber = otpRequest.getMobileNumber();
+        String json = redisTemplate.execute(REPLACE_SCRIPT, keys(mobileNumber), serialize(otpRequest),
+            Long.toString(Math.max(1, ttl.toMillis())), mobileNumber,
+            Long.toString(epochMillis(otpRequest.getExpiresAt())));
+        if (json == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(reader.readValue(json));
+        } catch (JsonProcessingException e) {
+            logger.warn("Dropping unreadable replaced OTP entry: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void remove(String mobileNumber) {
+        redisTemplate.execute(REMOVE_SCRIPT, keys(mobileNumber), mobileNumber);
+    }
+
+    @Override
+    public Optional<OtpRequest> verify(String mobileNumber, String otpCode) {
+        LocalDateTime now = LocalDateTime.now();
+        String json = redisTemplate.execute(VERIFY_SCRIPT, keys(mobileNumber),
+            otpCode, now.toString(), Integer.toString(OtpRequest.MAX_ATTEMPTS), mobileNumber,
+            Long.toString(epochMillis(now)));
+        if (json == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(reader.readValue(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read OTP verification result", e);
+        }
+    }
+
+    /**
+     * Expires pending OTPs whose time is up and queues their audit rows. Every node runs
+     * this; each entry is claimed by a script, so it is audited once.
+     */
+    @Scheduled(fixedDelayString = "${app.otp.store.redis.sweep-interval:5000}")
+    public void expireLapsed() {
+        long now = epochMillis(LocalDateTime.now());
+        Set<String> lapsed;
+        do {
+            lapsed = redisTemplate.opsForZSet()
+                .rangeByScore(EXPIRY_INDEX, Double.NEGATIVE_INFINITY, now, 0, SWEEP_BATCH_SIZE);
+            if (lapsed == null) {
+                return;
+            }
+            for (String mobileNumber : lapsed) {
+                String json = redisTemplate.execute(EXPIRE_SCRIPT, keys(mobileNumber), mobileNumber, Long.toString(now));
+                if (json == null) {
+                    continue;
+                }
+                try {
+                    auditWriter.enqueue(reader.readValue(json));
+                } catch (JsonProcessingException e) {
+                    logger.warn("Dropping unreadable lapsed OTP entry: {}", e.getMessage());
+                }
+            }
+        } while (lapsed.size() == SWEEP_BATCH_SIZE);
+    }
+
+    private String serialize(OtpRequest otpRequest) {
+        try {
+            return writer.writeValueAsString(otpRequest);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize OTP request", e);
+        }
+    }
+
+    private static List<String> keys(String mobileNumber) {
+        return List.of(KEY_PREFIX + mobileNumber, EXPIRY_INDEX);
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
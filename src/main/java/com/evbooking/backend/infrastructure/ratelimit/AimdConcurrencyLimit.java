@@ -0,0 +1,80 @@
+package com.evbooking.backend.infrastructure.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit adjusted by additive increase, multiplicative decrease. A request
+ * that finishes under the latency target while the limit is in real use raises the limit
+ * by about one per limit's worth of requests; a slow or congested one cuts it by the
+ * backoff ratio, at most once per latency target so one slow burst counts once.
+ * Low-priority requests may only use part of the limit, which leaves the rest to
+ * high-priority ones when the limit shrinks.
+ */
+public final class AimdConcurrencyLimit {
+
+    public enum Priority { HIGH, LOW }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private final double lowPriorityShare;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private long lastDecreaseNanos; // guarded by this
+
+    public AimdConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long latencyTargetNanos,
+                                double backoffRatio, double lowPriorityShare, long nowNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.backoffRatio = backoffRatio;
+        this.lowPriorityShare = lowPriorityShare;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastDecreaseNanos = nowNanos - latencyTargetNanos;
+    }
+
+    /**
+     * Claims a slot. Every successful call must be paired with {@link #release}.
+     */
+    public boolean tryAcquire(Priority priority) {
+        int allowed = priority == Priority.HIGH ? (int) limit : Math.max(1, (int) (limit * lowPriorityShare));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees a slot and feeds the request's outcome back into the limit.
+     *
+     * @param congested a downstream saturation signal seen while finishing, such as
+     *                  callers queued for a database connection
+     */
+    public void release(long latencyNanos, boolean congested, long nowNanos) {
+        int wasInFlight = inFlight.getAndDecrement();
+
+        if (congested || latencyNanos > latencyTargetNanos) {
+            synchronized (this) {
+                if (nowNanos - lastDecreaseNanos >= latencyTargetNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = nowNanos;
+                }
+            }
+        } else if (wasInFlight * 2 >= limit) {
+            // An idle service says nothing about how much more it could take
+            synchronized (this) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    public double getLimit() { return limit; }
+    public int getInFlight() { return inFlight.get(); }
+}
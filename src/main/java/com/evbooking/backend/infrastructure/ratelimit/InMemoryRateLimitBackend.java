@@ -0,0 +1,79 @@
+package com.evbooking.backend.infrastructure.ratelimit;
+
+import com.evbooking.backend.usecase.service.RateLimitBackend;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-node sliding-window log. Each key owns {@code limit} timestamp slots; a hit
+ * claims a slot whose timestamp has left the window with a single CAS, so there
+ * are no locks beyond ConcurrentHashMap's own striping.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.rate-limit.backend", havingValue = "local", matchIfMissing = true)
+public class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean tryAcquire(String key, int limit, long windowMillis, long nowMillis) {
+        Window window = windows.computeIfAbsent(key, k -> new Window(limit, windowMillis));
+        return window.tryAcquire(nowMillis);
+    }
+
+    @Override
+    public boolean isTracked(String key) {
+        return windows.containsKey(key);
+    }
+
+    @Override
+    public void seed(String key, int hits, int limit, long windowMillis, long nowMillis) {
+        Window window = windows.computeIfAbsent(key, k -> new Window(limit, windowMillis));
+        // Row timestamps are not known, so seeded hits count from now (conservative)
+        for (int i = 0; i < Math.min(hits, limit); i++) {
+            window.tryAcquire(nowMillis);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.otp.rate-limit.eviction-interval:60000}")
+    public void evictIdleWindows() {
+        long now = System.currentTimeMillis();
+        windows.values().removeIf(window -> window.isIdle(now));
+    }
+
+    private static final class Window {
+        private final AtomicLongArray slots;
+        private final long windowMillis;
+
+        Window(int limit, long windowMillis) {
+            this.slots = new AtomicLongArray(limit);
+            this.windowMillis = windowMillis;
+        }
+
+        boolean tryAcquire(long now) {
+            long cutoff = now - windowMillis;
+            for (int i = 0; i < slots.length(); i++) {
+                long previous = slots.get(i);
+                if (previous <= cutoff && slots.compareAndSet(i, previous, now)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isIdle(long now) {
+            long cutoff = now - windowMillis;
+            for (int i = 0; i < slots.length(); i++) {
+                if (slots.get(i) > cutoff) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.evbooking.backend.infrastructure.ratelimit;
+
+import com.evbooking.backend.usecase.service.RateLimitBackend;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Shared sliding-window log in Redis: one sorted set per key, scored by hit time.
+ * Trimming, counting and recording happen in one script, so concurrent nodes
+ * cannot both take the last slot.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.rate-limit.backend", havingValue = "redis")
+public class RedisRateLimitBackend implements RateLimitBackend {
+
+    private static final String KEY_PREFIX = "otp:rate:";
+
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+        "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', tonumber(ARGV[1]) - tonumber(ARGV[2])) " +
+        "if redis.call('ZCARD', KEYS[1]) >= tonumber(ARGV[3]) then return 0 end " +
+        "redis.call('ZADD', KEYS[1], ARGV[1], ARGV[4]) " +
+        "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+        "return 1",
+        Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisRateLimitBackend(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int limit, long windowMillis, long nowMillis) {
+        Long acquired = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(KEY_PREFIX + key),
+            String.valueOf(nowMillis), String.valueOf(windowMillis), String.valueOf(limit),
+            nowMillis + ":" + UUID.randomUUID());
+        return acquired != null && acquired == 1L;
+    }
+
+    @Override
+    public boolean isTracked(String key) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + key));
+    }
+
+    @Override
+    public void seed(String key, int hits, int limit, long windowMillis, long nowMillis) {
+        for (int i = 0; i < Math.min(hits, limit); i++) {
+            tryAcquire(key, limit, windowMillis, nowMillis);
+        }
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+}
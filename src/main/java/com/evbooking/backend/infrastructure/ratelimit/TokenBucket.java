@@ -0,0 +1,39 @@
+package com.evbooking.backend.infrastructure.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single "theoretical arrival time" (the GCRA form): the bucket
+ * is full when that time is in the past, and each request pushes it forward by one
+ * refill interval. One AtomicLong and a CAS per request, no locks and no refill timer.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong arrivalTime;
+
+    public TokenBucket(long capacity, long refillTokens, long refillPeriodNanos, long nowNanos) {
+        this.intervalNanos = Math.max(1, refillPeriodNanos / refillTokens);
+        this.capacityNanos = intervalNanos * capacity;
+        this.arrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token. Returns 0 when the request may proceed, otherwise the number of
+     * nanoseconds until a token becomes available.
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = arrivalTime.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long excess = next - nowNanos - capacityNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (arrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.evbooking.backend.infrastructure.repository;
+
+import com.evbooking.backend.domain.model.User;
+import com.evbooking.backend.domain.repository.UserRepository;
+import com.evbooking.backend.usecase.service.ClusterEventBus;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * UserRepository with a per-node Caffeine tier in front of an optional Redis tier shared
+ * by every node. Lookups by id and phone number are cached; writes go to the database
+ * and then evict the user from both tiers and, through the {@link ClusterEventBus}, from
+ * every other node's local tier. Evictions are best effort, so both tiers also expire on
+ * their own. Callers get copies and must save any change they make. Password hashes
+ * never leave the node, so users served from the shared tier have none; password checks
+ * go through findByEmail, which is not cached, and saving a user without a password keeps
+ * the stored one.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "app.user-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingUserRepository implements UserRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingUserRepository.class);
+
+    private static final String EVICT_CHANNEL = "user-cache.evict";
+    private static final String ID_KEY_PREFIX = "user:id:";
+    private static final String PHONE_KEY_PREFIX = "user:phone:";
+
+    private final UserRepositoryImpl delegate;
+    private final ClusterEventBus eventBus;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final boolean shared;
+    private final Duration sharedTtl;
+
+    private final Cache<Long, User> byId;
+    // Phone number to id; entries are checked against the user they lead to, so a stale one is harmless
+    private final Cache<String, Long> idByPhone;
+
+    public CachingUserRepository(UserRepositoryImpl delegate,
+                                 ClusterEventBus eventBus,
+                                 StringRedisTemplate redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.user-cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${app.user-cache.ttl:60s}") Duration ttl,
+                                 @Value("${app.user-cache.shared.enabled:false}") boolean shared,
+                                 @Value("${app.user-cache.shared.ttl:10m}") Duration sharedTtl) {
+        this.delegate = delegate;
+        this.eventBus = eventBus;
+        this.redisTemplate = redisTemplate;
+        // User exposes derived getters (fullName, active, admin) that are not settable
+        this.reader = objectMapper.readerFor(User.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.writer = objectMapper.copy().addMixIn(User.class, SharedUserMixin.class).writerFor(User.class);
+        this.shared = shared;
+        this.sharedTtl = sharedTtl;
+
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idByPhone = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users");
+        eventBus.subscribe(EVICT_CHANNEL, this::evictLocal);
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        Optional<User> cached = findCached(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        Optional<User> loaded = delegate.findById(id);
+        loaded.ifPresent(user -> cache(user, true));
+        return loaded;
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public Optional<User> findByPhoneNumber(String phoneNumber) {
+        Optional<User> cached = findCachedByPhoneNumber(phoneNumber);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        Optional<User> loaded = delegate.findByPhoneNumber(phoneNumber);
+        loaded.ifPresent(user -> cache(user, true));
+        return loaded;
+    }
+
+    @Override
+    public User save(User user) {
+        if (user.getId() != null && user.getPassword() == null) {
+            // May have come from the shared tier; saving it as is would wipe the stored hash
+            User restored = copy(user);
+            delegate.findPasswordById(user.getId()).ifPresent(restored::setPassword);
+            user = restored;
+        }
+        User saved = delegate.save(user);
+        evict(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public User upsertByPhoneNumber(User user) {
+        // A returning user is already cached and the upsert would not change their row
+        Optional<User> cached = findCachedByPhoneNumber(user.getPhoneNumber());
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        User result = delegate.upsertByPhoneNumber(user);
+        cache(result, true);
+        return result;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        evict(id);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public boolean existsByPhoneNumber(String phoneNumber) {
+        return delegate.existsByPhoneNumber(phoneNumber);
+    }
+
+    @Override
+    public void revokeTokensIssuedBefore(Long userId, LocalDateTime cutoff) {
+        delegate.revokeTokensIssuedBefore(userId, cutoff);
+    }
+
+    @Override
+    public Map<Long, LocalDateTime> findTokenRevocationsAfter(LocalDateTime since) {
+        return delegate.findTokenRevocationsAfter(since);
+    }
+
+    private Optional<User> findCachedByPhoneNumber(String phoneNumber) {
+        Long id = idByPhone.getIfPresent(phoneNumber);
+        if (id == null) {
+            id = readSharedId(phoneNumber);
+        }
+        if (id == null) {
+            return Optional.empty();
+        }
+        return findCached(id).filter(user -> phoneNumber.equals(user.getPhoneNumber()));
+    }
+
+    private Optional<User> findCached(Long id) {
+        User cached = byId.getIfPresent(id);
+        if (cached == null) {
+            cached = readShared(ID_KEY_PREFIX + id);
+            if (cached == null) {
+                return Optional.empty();
+            }
+            cache(cached, false);
+        }
+        return Optional.of(copy(cached));
+    }
+
+    private void evict(Long id) {
+        User previous = byId.getIfPresent(id);
+        evictLocal(id.toString());
+        if (shared) {
+            try {
+                redisTemplate.delete(ID_KEY_PREFIX + id);
+                if (previous != null) {
+                    redisTemplate.delete(PHONE_KEY_PREFIX + previous.getPhoneNumber());
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Cannot evict user {} from shared cache: {}", id, e.getMessage());
+            }
+        }
+        eventBus.publish(EVICT_CHANNEL, id.toString());
+    }
+
+    private void evictLocal(String message) {
+        try {
+            byId.invalidate(Long.valueOf(message));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed user eviction: {}", message);
+        }
+    }
+
+    private void cache(User user, boolean writeShared) {
+        User copy = copy(user);
+        byId.put(copy.getId(), copy);
+        if (copy.getPhoneNumber() != null) {
+            idByPhone.put(copy.getPhoneNumber(), copy.getId());
+        }
+        if (shared && writeShared) {
+            try {
+                redisTemplate.opsForValue().set(ID_KEY_PREFIX + copy.getId(), writer.writeValueAsString(copy), sharedTtl);
+                if (copy.getPhoneNumber() != null) {
+                    redisTemplate.opsForValue().set(PHONE_KEY_PREFIX + copy.getPhoneNumber(), copy.getId().toString(), sharedTtl);
+                }
+            } catch (Exception e) {
+                logger.warn("Cannot write user {} to shared cache: {}", copy.getId(), e.getMessage());
+            }
+        }
+    }
+
+    // The shared tier is an optimisation; any failure there falls through to the database
+    private User readShared(String key) {
+        if (!shared) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            return json != null ? reader.readValue(json) : null;
+        } catch (Exception e) {
+            logger.warn("Cannot read {} from shared cache: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private Long readSharedId(String phoneNumber) {
+        if (!shared) {
+            return null;
+        }
+        try {
+            String id = redisTemplate.opsForValue().get(PHONE_KEY_PREFIX + phoneNumber);
+            return id != null ? Long.valueOf(id) : null;
+        } catch (RuntimeException e) {
+            logger.warn("Cannot read phone index from shared cache: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Keeps password hashes out of Redis
+    @JsonIgnoreProperties("password")
+    private abstract static class SharedUserMixin {}
+
+    private static User copy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setEmail(user.getEmail());
+        copy.setPassword(user.getPassword());
+        copy.setFirstName(user.getFirstName());
+        copy.setLastName(user.getLastName());
+        copy.setPhoneNumber(user.getPhoneNumber());
+        copy.setRole(user.getRole());
+        copy.setStatus(user.getStatus());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
+    }
+}
@@ -0,0 +1,146 @@
+package com.evbooking.backend.infrastructure.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes dead refresh tokens in small chunks. OTP rows age out by whole partitions
+ * instead (see {@link OtpPartitionManager}). Each chunk is its own autocommit statement
+ * walking forward by id, so no transaction stays open and rows locked by live requests
+ * are skipped rather than waited on. A Postgres advisory
+ * lock keeps the job to one node at a time; all work runs on the lock's connection, so
+ * the job never takes more than one connection from the pool.
+ */
+@Component
+@ConditionalOnProperty(name = "app.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class ExpiredRowPurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredRowPurger.class);
+
+    // Arbitrary application-wide key for pg_try_advisory_lock
+    private static final long LOCK_KEY = 0x6b61736850757267L;
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final Duration chunkDelay;
+    private final Duration maxDuration;
+    private final Duration refreshTokenGrace;
+    private final Timer runTimer;
+
+    public ExpiredRowPurger(DataSource dataSource,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.purge.chunk-size:1000}") int chunkSize,
+                            @Value("${app.purge.chunk-delay:100ms}") Duration chunkDelay,
+                            @Value("${app.purge.max-duration:5m}") Duration maxDuration,
+                            @Value("${app.purge.refresh-token-grace:1d}") Duration refreshTokenGrace) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.chunkDelay = chunkDelay;
+        this.maxDuration = maxDuration;
+        this.refreshTokenGrace = refreshTokenGrace;
+        this.runTimer = meterRegistry.timer("purge.duration");
+    }
+
+    @Scheduled(cron = "${app.purge.cron:0 */15 * * * *}")
+    public void purge() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+
+            if (!Boolean.TRUE.equals(jdbc.queryForObject("SELECT pg_try_advisory_lock(?)", Boolean.class, LOCK_KEY))) {
+                logger.debug("Purge already running on another node");
+                meterRegistry.counter("purge.runs", "result", "skipped").increment();
+                return;
+            }
+
+            try {
+                runTimer.record(() -> purgeAll(jdbc));
+                meterRegistry.counter("purge.runs", "result", "completed").increment();
+            } finally {
+                // Session locks outlive the checkout, so release before the connection goes back to the pool
+                jdbc.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, LOCK_KEY);
+            }
+        } catch (SQLException | RuntimeException e) {
+            meterRegistry.counter("purge.runs", "result", "failed").increment();
+            logger.error("Expired row purge failed: {}", e.getMessage());
+        }
+    }
+
+    private void purgeAll(JdbcTemplate jdbc) {
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (PurgeTarget target : targets(now)) {
+            long purged = purgeInChunks(jdbc, target, deadline);
+            if (purged > 0) {
+                logger.info("Purged {} rows ({})", purged, target.table());
+            }
+            if (System.nanoTime() > deadline) {
+                logger.info("Purge time budget used up, continuing next run");
+                return;
+            }
+        }
+    }
+
+    private List<PurgeTarget> targets(LocalDateTime now) {
+        return List.of(
+            new PurgeTarget("refresh_tokens",
+                "(expires_at < ? OR revoked)", Timestamp.valueOf(now.minus(refreshTokenGrace)))
+        );
+    }
+
+    private long purgeInChunks(JdbcTemplate jdbc, PurgeTarget target, long deadline) {
+        String sql = "DELETE FROM " + target.table() + " WHERE id IN ("
+            + "SELECT id FROM " + target.table()
+            + " WHERE " + target.condition() + " AND id > ?"
+            + " ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING id";
+
+        long lastId = 0;
+        long total = 0;
+        while (System.nanoTime() < deadline) {
+            List<Long> deleted = jdbc.queryForList(sql, Long.class, target.cutoff(), lastId, chunkSize);
+            if (deleted.isEmpty()) {
+                break;
+            }
+
+            total += deleted.size();
+            meterRegistry.counter("purge.rows", "table", target.table()).increment(deleted.size());
+            // Keyset cursor: the next chunk starts after this one instead of rescanning dead tuples
+            lastId = deleted.stream().mapToLong(Long::longValue).max().getAsLong();
+
+            if (deleted.size() < chunkSize) {
+                break;
+            }
+            pause();
+        }
+        return total;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(chunkDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record PurgeTarget(String table, String condition, Timestamp cutoff) {}
+}
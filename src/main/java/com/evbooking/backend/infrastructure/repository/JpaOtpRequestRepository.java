@@ -3,9 +3,11 @@ package com.evbooking.backend.infrastructure.repository;
 import com.evbooking.backend.domain.model.OtpRequest;
 import com.evbooking.backend.infrastructure.entity.OtpRequestEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -13,12 +15,32 @@ import java.util.Optional;
 @Repository
 public interface JpaOtpRequestRepository extends JpaRepository<OtpRequestEntity, Long> {
 
-    Optional<OtpRequestEntity> findByMobileNumberAndStatus(String mobileNumber, OtpRequest.OtpStatus status);
+    // Every lookup is bounded by created_at so Postgres only scans the newest partitions
+    @Transactional(readOnly = true)
+    Optional<OtpRequestEntity> findFirstByMobileNumberAndStatusAndCreatedAtAfterOrderByCreatedAtDesc(
+        String mobileNumber, OtpRequest.OtpStatus status, LocalDateTime after);
 
-    @Query("SELECT o FROM OtpRequestEntity o WHERE o.mobileNumber = :mobileNumber ORDER BY o.createdAt DESC")
-    Optional<OtpRequestEntity> findLatestByMobileNumber(@Param("mobileNumber") String mobileNumber);
+    @Transactional(readOnly = true)
+    Optional<OtpRequestEntity> findFirstByMobileNumberAndCreatedAtAfterOrderByCreatedAtDesc(
+        String mobileNumber, LocalDateTime after);
 
-    void deleteByExpiresAtBefore(LocalDateTime before);
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE otp_requests SET status = 'EXPIRED' " +
+                   "WHERE mobile_number = :mobileNumber AND status = 'PENDING' AND created_at > :after",
+           nativeQuery = true)
+    int expirePending(@Param("mobileNumber") String mobileNumber, @Param("after") LocalDateTime after);
 
-    int countByMobileNumberAndCreatedAtAfter(String mobileNumber, LocalDateTime after);
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OtpRequestEntity o WHERE o.expiresAt < :before")
+    int deleteByExpiresAtBefore(@Param("before") LocalDateTime before);
+
+    // Rows keep the number as entered, so match on its last ten digits; runs once per number at cold start.
+    // The expression must stay identical to idx_otp_requests_number_digits_created (changelog 008).
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT COUNT(*) FROM otp_requests WHERE created_at > :after " +
+                   "AND right(regexp_replace(mobile_number, '[^0-9]', '', 'g'), 10) = :digits",
+           nativeQuery = true)
+    int countByMobileNumberAndCreatedAtAfter(@Param("digits") String digits, @Param("after") LocalDateTime after);
 }
\ No newline at end of file
@@ -1,14 +1,38 @@
 package com.evbooking.backend.infrastructure.repository;
 
+import com.evbooking.backend.domain.model.RefreshToken;
 import com.evbooking.backend.infrastructure.entity.RefreshTokenEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface JpaRefreshTokenRepository extends JpaRepository<RefreshTokenEntity, Long> {
-    Optional<RefreshTokenEntity> findByToken(String token);
-    void deleteByUserId(Long userId);
-    void deleteByToken(String token);
+    // Built straight from the columns; no entity is loaded into the persistence context
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.evbooking.backend.domain.model.RefreshToken("
+        + "r.id, r.tokenHash, r.userId, r.expiresAt, r.createdAt, r.revoked) "
+        + "FROM RefreshTokenEntity r WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findTokenByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+    // Set-based statements: derived deletes would load every row and delete them one by one
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshTokenEntity r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshTokenEntity r WHERE r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshTokenEntity r SET r.revoked = true WHERE r.tokenHash = :tokenHash")
+    int revokeByTokenHash(@Param("tokenHash") byte[] tokenHash);
 }
\ No newline at end of file
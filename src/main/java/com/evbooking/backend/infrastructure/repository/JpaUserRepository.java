@@ -1,15 +1,79 @@
 package com.evbooking.backend.infrastructure.repository;
 
+import com.evbooking.backend.domain.model.User;
 import com.evbooking.backend.infrastructure.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface JpaUserRepository extends JpaRepository<UserEntity, Long> {
+    @Transactional(readOnly = true)
     Optional<UserEntity> findByEmail(String email);
-    Optional<UserEntity> findByPhoneNumber(String phoneNumber);
     boolean existsByEmail(String email);
     boolean existsByPhoneNumber(String phoneNumber);
-}
\ No newline at end of file
+
+    /*
+     * Read paths: the constructor expression builds the domain object from the columns, so
+     * no entity, persistence-context snapshot or mapping copy is created.
+     */
+    String USER_PROJECTION = "SELECT new com.evbooking.backend.domain.model.User("
+        + "u.id, u.email, u.password, u.firstName, u.lastName, u.phoneNumber, "
+        + "u.role, u.status, u.createdAt, u.updatedAt) FROM UserEntity u ";
+
+    @Transactional(readOnly = true)
+    @Query(USER_PROJECTION + "WHERE u.id = :id")
+    Optional<User> findUserById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query(USER_PROJECTION + "WHERE u.phoneNumber = :phoneNumber")
+    Optional<User> findUserByPhoneNumber(@Param("phoneNumber") String phoneNumber);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT u.password FROM UserEntity u WHERE u.id = :id")
+    Optional<String> findPasswordById(@Param("id") Long id);
+
+    /**
+     * Inserts a user for the phone number or returns the existing row, in one statement.
+     * DO NOTHING leaves existing rows untouched (no dead tuple per login). If a concurrent
+     * insert commits while this one waits, neither branch sees a row and the result is
+     * empty; callers fall back to a plain lookup.
+     */
+    @Transactional
+    @Query(value = """
+            WITH inserted AS (
+                INSERT INTO users (id, phone_number, email, password, first_name, last_name, role, status, created_at, updated_at)
+                VALUES (:id, :phoneNumber, :email, :password, :firstName, :lastName, :role, :status, :now, :now)
+                ON CONFLICT (phone_number) DO NOTHING
+                RETURNING *
+            )
+            SELECT * FROM inserted
+            UNION ALL
+            SELECT * FROM users WHERE phone_number = :phoneNumber AND NOT EXISTS (SELECT 1 FROM inserted)
+            """, nativeQuery = true)
+    Optional<UserEntity> insertOrFetchByPhoneNumber(@Param("id") Long id,
+                                                    @Param("phoneNumber") String phoneNumber,
+                                                    @Param("email") String email,
+                                                    @Param("password") String password,
+                                                    @Param("firstName") String firstName,
+                                                    @Param("lastName") String lastName,
+                                                    @Param("role") String role,
+                                                    @Param("status") String status,
+                                                    @Param("now") LocalDateTime now);
+
+    // tokens_revoked_before is deliberately not mapped on UserEntity, so saving a user never resets it
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE users SET tokens_revoked_before = :cutoff WHERE id = :userId", nativeQuery = true)
+    int revokeTokensIssuedBefore(@Param("userId") Long userId, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query(value = "SELECT id, tokens_revoked_before FROM users WHERE tokens_revoked_before > :since", nativeQuery = true)
+    List<Object[]> findTokenRevocationsAfter(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,74 @@
+package com.evbooking.backend.infrastructure.repository;
+
+import com.evbooking.backend.domain.model.OtpRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes finished OTPs to otp_requests in batches, off the request path. The queue is
+ * bounded: when the database falls behind, audit rows are dropped and counted rather
+ * than holding up logins.
+ */
+@Component
+public class OtpAuditWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OtpAuditWriter.class);
+
+    private final OtpRequestRepositoryImpl databaseRepository;
+    private final BlockingQueue<OtpRequest> queue;
+    private final int batchSize;
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+
+    public OtpAuditWriter(OtpRequestRepositoryImpl databaseRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.otp.store.audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${app.otp.store.audit.batch-size:200}") int batchSize) {
+        this.databaseRepository = databaseRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+
+        meterRegistry.gaugeCollectionSize("otp.audit.queue.size", List.of(), queue);
+        this.writtenCounter = meterRegistry.counter("otp.audit.rows", "result", "written");
+        this.droppedCounter = meterRegistry.counter("otp.audit.rows", "result", "dropped");
+    }
+
+    public void enqueue(OtpRequest otpRequest) {
+        if (!queue.offer(otpRequest)) {
+            droppedCounter.increment();
+            logger.warn("OTP audit queue is full, dropping row for status {}", otpRequest.getStatus());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.otp.store.audit.flush-interval:1000}")
+    public void flush() {
+        List<OtpRequest> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                databaseRepository.saveAll(batch);
+                writtenCounter.increment(batch.size());
+            } catch (Exception e) {
+                droppedCounter.increment(batch.size());
+                logger.error("Failed to write {} OTP audit rows: {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
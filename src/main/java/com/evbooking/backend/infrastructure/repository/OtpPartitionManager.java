@@ -0,0 +1,141 @@
+package com.evbooking.backend.infrastructure.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps otp_requests' daily partitions ahead of the clock and drops the ones past
+ * retention. Dropping a whole day is a catalog change instead of millions of row
+ * deletes, and the day being written stays small. Like {@link ExpiredRowPurger}, a
+ * Postgres advisory lock keeps the DDL to one node at a time and all of it runs on the
+ * lock's connection.
+ */
+@Component
+public class OtpPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(OtpPartitionManager.class);
+
+    private static final String TABLE = "otp_requests";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    // Upper bound from pg_get_expr(relpartbound), e.g. FOR VALUES FROM (...) TO ('2024-09-17 00:00:00')
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // Arbitrary application-wide key for pg_try_advisory_lock. Not the purger's key: both
+    // run at half past, and sharing it would make this job skip whenever the purge is running.
+    private static final long LOCK_KEY = 0x6b6173684f747050L;
+
+    private final DataSource dataSource;
+    private final int daysAhead;
+    private final Duration retention;
+
+    public OtpPartitionManager(DataSource dataSource,
+                               @Value("${app.otp.partitions.days-ahead:7}") int daysAhead,
+                               @Value("${app.otp.partitions.retention:7d}") Duration retention) {
+        this.dataSource = dataSource;
+        this.daysAhead = daysAhead;
+        this.retention = retention;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.otp.partitions.cron:0 30 0 * * *}")
+    public void maintain() {
+        try (Connection connection = dataSource.getConnection()) {
+            // DETACH ... CONCURRENTLY cannot run inside a transaction block
+            connection.setAutoCommit(true);
+            JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+
+            if (!Boolean.TRUE.equals(jdbc.queryForObject("SELECT pg_try_advisory_lock(?)", Boolean.class, LOCK_KEY))) {
+                logger.debug("OTP partition maintenance already running on another node");
+                return;
+            }
+
+            try {
+                createUpcomingPartitions(jdbc, LocalDate.now());
+                dropExpiredPartitions(jdbc, LocalDateTime.now().minus(retention));
+            } finally {
+                // Session locks outlive the checkout, so release before the connection goes back to the pool
+                jdbc.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, LOCK_KEY);
+            }
+        } catch (SQLException | RuntimeException e) {
+            // Partitions are created days ahead, so a failed run is retried well before they are needed
+            logger.error("OTP partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    private void createUpcomingPartitions(JdbcTemplate jdbc, LocalDate today) {
+        // Starts after the newest existing partition so ranges never overlap the legacy one
+        LocalDate from = listPartitions(jdbc).values().stream()
+            .map(Partition::upperBound)
+            .map(LocalDateTime::toLocalDate)
+            .max(LocalDate::compareTo)
+            .filter(last -> last.isAfter(today))
+            .orElse(today);
+
+        for (LocalDate day = from; !day.isAfter(today.plusDays(daysAhead)); day = day.plusDays(1)) {
+            jdbc.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s_p%s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                TABLE, day.format(SUFFIX), TABLE, day.atStartOfDay(), day.plusDays(1).atStartOfDay()));
+        }
+    }
+
+    private void dropExpiredPartitions(JdbcTemplate jdbc, LocalDateTime cutoff) {
+        listPartitions(jdbc).forEach((name, partition) -> {
+            if (partition.detachPending()) {
+                // A concurrent detach interrupted on an earlier run blocks any other detach until finished
+                jdbc.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + name + " FINALIZE");
+            } else if (!partition.upperBound().isAfter(cutoff)) {
+                // CONCURRENTLY avoids an exclusive lock on the parent while live inserts continue
+                jdbc.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + name + " CONCURRENTLY");
+            } else {
+                return;
+            }
+            jdbc.execute("DROP TABLE " + name);
+            logger.info("Dropped OTP partition {} (data before {})", name, partition.upperBound());
+        });
+    }
+
+    /**
+     * Partition name to its exclusive upper bound and whether a detach is still pending.
+     */
+    private Map<String, Partition> listPartitions(JdbcTemplate jdbc) {
+        List<Map<String, Object>> rows = jdbc.queryForList(
+            "SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound, " +
+            "i.inhdetachpending AS detach_pending " +
+            "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = ?::regclass", TABLE);
+
+        Map<String, Partition> partitions = new TreeMap<>();
+        for (Map<String, Object> row : rows) {
+            Matcher matcher = UPPER_BOUND.matcher((String) row.get("bound"));
+            if (matcher.find()) {
+                partitions.put((String) row.get("name"), new Partition(
+                    LocalDateTime.parse(matcher.group(1), BOUND_FORMAT),
+                    Boolean.TRUE.equals(row.get("detach_pending"))));
+            }
+        }
+        return partitions;
+    }
+
+    private record Partition(LocalDateTime upperBound, boolean detachPending) {}
+}
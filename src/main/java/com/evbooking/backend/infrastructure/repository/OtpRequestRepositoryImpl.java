@@ -3,40 +3,120 @@ package com.evbooking.backend.infrastructure.repository;
 import com.evbooking.backend.domain.model.OtpRequest;
 import com.evbooking.backend.domain.repository.OtpRequestRepository;
 import com.evbooking.backend.infrastructure.entity.OtpRequestEntity;
+import com.evbooking.backend.infrastructure.mapper.OtpRequestEntityMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Component
 public class OtpRequestRepositoryImpl implements OtpRequestRepository {
 
+    // OTPs live for minutes; older rows are never live, and skipping them prunes old partitions
+    private static final Duration LIVE_LOOKBACK = Duration.ofHours(1);
+
+    /*
+     * One statement per verification attempt: the status check in the WHERE clause is
+     * re-evaluated after a concurrent update commits, so only one attempt can verify.
+     * Returns the new status, or no row when no pending OTP exists.
+     */
+    private static final String VERIFY_PENDING = """
+            UPDATE otp_requests o SET
+                status = CASE
+                    WHEN o.expires_at <= :now THEN 'EXPIRED'
+                    WHEN o.otp_code = :otpCode THEN 'VERIFIED'
+                    WHEN o.attempt_count + 1 >= :maxAttempts THEN 'FAILED'
+                    ELSE 'PENDING' END,
+                attempt_count = CASE
+                    WHEN o.expires_at > :now AND o.otp_code <> :otpCode THEN o.attempt_count + 1
+                    ELSE o.attempt_count END,
+                verified_at = CASE
+                    WHEN o.expires_at > :now AND o.otp_code = :otpCode THEN :now
+                    ELSE o.verified_at END
+            WHERE o.status = 'PENDING'
+              AND o.created_at > :after
+              AND o.id = (SELECT p.id FROM otp_requests p
+                          WHERE p.mobile_number = :mobileNumber AND p.status = 'PENDING'
+                            AND p.created_at > :after
+                          ORDER BY p.created_at DESC LIMIT 1)
+            RETURNING o.status
+            """;
+
     private final JpaOtpRequestRepository jpaOtpRequestRepository;
+    private final OtpRequestEntityMapper otpRequestEntityMapper;
+    private final EntityManager entityManager;
 
-    public OtpRequestRepositoryImpl(JpaOtpRequestRepository jpaOtpRequestRepository) {
+    public OtpRequestRepositoryImpl(JpaOtpRequestRepository jpaOtpRequestRepository,
+                                    OtpRequestEntityMapper otpRequestEntityMapper,
+                                    EntityManager entityManager) {
         this.jpaOtpRequestRepository = jpaOtpRequestRepository;
+        this.otpRequestEntityMapper = otpRequestEntityMapper;
+        this.entityManager = entityManager;
     }
 
     @Override
     public Optional<OtpRequest> findById(Long id) {
-        return jpaOtpRequestRepository.findById(id).map(this::toDomain);
+        return jpaOtpRequestRepository.findById(id).map(otpRequestEntityMapper::toDomain);
     }
 
     @Override
     public Optional<OtpRequest> findByMobileNumberAndStatus(String mobileNumber, OtpRequest.OtpStatus status) {
-        return jpaOtpRequestRepository.findByMobileNumberAndStatus(mobileNumber, status).map(this::toDomain);
+        return jpaOtpRequestRepository
+            .findFirstByMobileNumberAndStatusAndCreatedAtAfterOrderByCreatedAtDesc(mobileNumber, status, liveSince())
+            .map(otpRequestEntityMapper::toDomain);
     }
 
     @Override
     public Optional<OtpRequest> findLatestByMobileNumber(String mobileNumber) {
-        return jpaOtpRequestRepository.findLatestByMobileNumber(mobileNumber).map(this::toDomain);
+        return jpaOtpRequestRepository
+            .findFirstByMobileNumberAndCreatedAtAfterOrderByCreatedAtDesc(mobileNumber, liveSince())
+            .map(otpRequestEntityMapper::toDomain);
     }
 
     @Override
     public OtpRequest save(OtpRequest otpRequest) {
-        OtpRequestEntity entity = toEntity(otpRequest);
-        OtpRequestEntity saved = jpaOtpRequestRepository.save(entity);
-        return toDomain(saved);
+        OtpRequestEntity saved = jpaOtpRequestRepository.save(otpRequestEntityMapper.toEntity(otpRequest));
+        return otpRequestEntityMapper.toDomain(saved);
+    }
+
+    @Override
+    @Transactional
+    public OtpRequest replacePending(OtpRequest otpRequest) {
+        jpaOtpRequestRepository.expirePending(otpRequest.getMobileNumber(), liveSince());
+        return save(otpRequest);
+    }
+
+    // Not a Spring Data @Modifying query: those go through executeUpdate, which drops the
+    // RETURNING row. Synchronizing on the entity tells Hibernate the statement writes
+    // otp_requests, so pending changes to it are flushed first and cached results invalidated.
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public OtpRequest.VerificationOutcome verify(String mobileNumber, String otpCode) {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> statuses = entityManager.createNativeQuery(VERIFY_PENDING)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(OtpRequestEntity.class)
+            .setParameter("mobileNumber", mobileNumber)
+            .setParameter("otpCode", otpCode)
+            .setParameter("maxAttempts", OtpRequest.MAX_ATTEMPTS)
+            .setParameter("now", now)
+            .setParameter("after", now.minus(LIVE_LOOKBACK))
+            .getResultList();
+        return statuses.stream().findFirst()
+            .map(OtpRequest.OtpStatus::valueOf)
+            .map(OtpRequest.VerificationOutcome::fromStatus)
+            .orElse(OtpRequest.VerificationOutcome.NOT_FOUND);
+    }
+
+    // Used by the audit writer: one transaction per batch
+    public void saveAll(List<OtpRequest> otpRequests) {
+        jpaOtpRequestRepository.saveAll(otpRequests.stream().map(otpRequestEntityMapper::toEntity).toList());
     }
 
     @Override
@@ -50,35 +130,11 @@ public class OtpRequestRepositoryImpl implements OtpRequestRepository {
     }
 
     @Override
-    public int countByMobileNumberAndCreatedAtAfter(String mobileNumber, LocalDateTime after) {
-        return jpaOtpRequestRepository.countByMobileNumberAndCreatedAtAfter(mobileNumber, after);
-    }
-
-    private OtpRequest toDomain(OtpRequestEntity entity) {
-        OtpRequest otpRequest = new OtpRequest();
-        otpRequest.setId(entity.getId());
-        otpRequest.setMobileNumber(entity.getMobileNumber());
-        otpRequest.setOtpCode(entity.getOtpCode());
-        otpRequest.setStatus(entity.getStatus());
-        otpRequest.setType(entity.getType());
-        otpRequest.setAttemptCount(entity.getAttemptCount());
-        otpRequest.setCreatedAt(entity.getCreatedAt());
-        otpRequest.setExpiresAt(entity.getExpiresAt());
-        otpRequest.setVerifiedAt(entity.getVerifiedAt());
-        return otpRequest;
+    public int countByMobileNumberAndCreatedAtAfter(String digits, LocalDateTime after) {
+        return jpaOtpRequestRepository.countByMobileNumberAndCreatedAtAfter(digits, after);
     }
 
-    private OtpRequestEntity toEntity(OtpRequest otpRequest) {
-        OtpRequestEntity entity = new OtpRequestEntity();
-        entity.setId(otpRequest.getId());
-        entity.setMobileNumber(otpRequest.getMobileNumber());
-        entity.setOtpCode(otpRequest.getOtpCode());
-        entity.setStatus(otpRequest.getStatus());
-        entity.setType(otpRequest.getType());
-        entity.setAttemptCount(otpRequest.getAttemptCount());
-        entity.setCreatedAt(otpRequest.getCreatedAt());
-        entity.setExpiresAt(otpRequest.getExpiresAt());
-        entity.setVerifiedAt(otpRequest.getVerifiedAt());
-        return entity;
+    private static LocalDateTime liveSince() {
+        return LocalDateTime.now().minus(LIVE_LOOKBACK);
     }
-}
\ No newline at end of file
+}
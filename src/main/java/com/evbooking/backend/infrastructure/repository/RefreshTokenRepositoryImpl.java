@@ -3,6 +3,8 @@ package com.evbooking.backend.infrastructure.repository;
 import com.evbooking.backend.domain.model.RefreshToken;
 import com.evbooking.backend.domain.repository.RefreshTokenRepository;
 import com.evbooking.backend.infrastructure.entity.RefreshTokenEntity;
+import com.evbooking.backend.infrastructure.mapper.RefreshTokenEntityMapper;
+import com.evbooking.backend.usecase.service.TokenDigest;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
@@ -11,26 +13,28 @@ import java.util.Optional;
 public class RefreshTokenRepositoryImpl implements RefreshTokenRepository {
 
     private final JpaRefreshTokenRepository jpaRefreshTokenRepository;
+    private final RefreshTokenEntityMapper refreshTokenEntityMapper;
 
-    public RefreshTokenRepositoryImpl(JpaRefreshTokenRepository jpaRefreshTokenRepository) {
+    public RefreshTokenRepositoryImpl(JpaRefreshTokenRepository jpaRefreshTokenRepository,
+                                      RefreshTokenEntityMapper refreshTokenEntityMapper) {
         this.jpaRefreshTokenRepository = jpaRefreshTokenRepository;
+        this.refreshTokenEntityMapper = refreshTokenEntityMapper;
     }
 
     @Override
     public Optional<RefreshToken> findById(Long id) {
-        return jpaRefreshTokenRepository.findById(id).map(this::toDomain);
+        return jpaRefreshTokenRepository.findById(id).map(refreshTokenEntityMapper::toDomain);
     }
 
     @Override
     public Optional<RefreshToken> findByToken(String token) {
-        return jpaRefreshTokenRepository.findByToken(token).map(this::toDomain);
+        return jpaRefreshTokenRepository.findTokenByTokenHash(TokenDigest.sha256(token));
     }
 
     @Override
     public RefreshToken save(RefreshToken refreshToken) {
-        RefreshTokenEntity entity = toEntity(refreshToken);
-        RefreshTokenEntity saved = jpaRefreshTokenRepository.save(entity);
-        return toDomain(saved);
+        RefreshTokenEntity saved = jpaRefreshTokenRepository.save(refreshTokenEntityMapper.toEntity(refreshToken));
+        return refreshTokenEntityMapper.toDomain(saved);
     }
 
     @Override
@@ -45,28 +49,11 @@ public class RefreshTokenRepositoryImpl implements RefreshTokenRepository {
 
     @Override
     public void deleteByToken(String token) {
-        jpaRefreshTokenRepository.deleteByToken(token);
+        jpaRefreshTokenRepository.deleteByTokenHash(TokenDigest.sha256(token));
     }
 
-    private RefreshToken toDomain(RefreshTokenEntity entity) {
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setId(entity.getId());
-        refreshToken.setToken(entity.getToken());
-        refreshToken.setUserId(entity.getUserId());
-        refreshToken.setExpiresAt(entity.getExpiresAt());
-        refreshToken.setCreatedAt(entity.getCreatedAt());
-        refreshToken.setRevoked(entity.isRevoked());
-        return refreshToken;
-    }
-
-    private RefreshTokenEntity toEntity(RefreshToken refreshToken) {
-        RefreshTokenEntity entity = new RefreshTokenEntity();
-        entity.setId(refreshToken.getId());
-        entity.setToken(refreshToken.getToken());
-        entity.setUserId(refreshToken.getUserId());
-        entity.setExpiresAt(refreshToken.getExpiresAt());
-        entity.setCreatedAt(refreshToken.getCreatedAt());
-        entity.setRevoked(refreshToken.isRevoked());
-        return entity;
+    @Override
+    public boolean revokeByToken(String token) {
+        return jpaRefreshTokenRepository.revokeByTokenHash(TokenDigest.sha256(token)) > 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package com.evbooking.backend.infrastructure.repository;
+
+import com.evbooking.backend.domain.model.OtpRequest;
+import com.evbooking.backend.domain.repository.OtpRequestRepository;
+import com.evbooking.backend.usecase.service.OtpStateStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * OtpRequestRepository that keeps live OTPs in an {@link OtpStateStore} instead of the
+ * database. Sending and verifying an OTP touch only the store; once an OTP reaches a
+ * terminal state it is written to otp_requests by the {@link OtpAuditWriter}. Live OTPs
+ * have no database id until then.
+ */
+@Component
+@Primary
+@ConditionalOnExpression("'${app.otp.store.type:database}' != 'database'")
+public class StoreBackedOtpRequestRepository implements OtpRequestRepository {
+
+    private final OtpStateStore store;
+    private final OtpAuditWriter auditWriter;
+    private final OtpRequestRepositoryImpl databaseRepository;
+
+    public StoreBackedOtpRequestRepository(OtpStateStore store,
+                                           OtpAuditWriter auditWriter,
+                                           OtpRequestRepositoryImpl databaseRepository) {
+        this.store = store;
+        this.auditWriter = auditWriter;
+        this.databaseRepository = databaseRepository;
+    }
+
+    @Override
+    public Optional<OtpRequest> findById(Long id) {
+        return databaseRepository.findById(id);
+    }
+
+    @Override
+    public Optional<OtpRequest> findByMobileNumberAndStatus(String mobileNumber, OtpRequest.OtpStatus status) {
+        if (status != OtpRequest.OtpStatus.PENDING) {
+            // Finished OTPs only exist as audit rows
+            return databaseRepository.findByMobileNumberAndStatus(mobileNumber, status);
+        }
+        return store.find(mobileNumber).filter(otp -> otp.getStatus() == status);
+    }
+
+    @Override
+    public Optional<OtpRequest> findLatestByMobileNumber(String mobileNumber) {
+        return store.find(mobileNumber);
+    }
+
+    @Override
+    public OtpRequest save(OtpRequest otpRequest) {
+        if (otpRequest.getStatus() == OtpRequest.OtpStatus.PENDING) {
+            store.put(otpRequest);
+        } else {
+            store.remove(otpRequest.getMobileNumber());
+            auditWriter.enqueue(otpRequest);
+        }
+        return otpRequest;
+    }
+
+    @Override
+    public OtpRequest replacePending(OtpRequest otpRequest) {
+        store.replace(otpRequest).ifPresent(auditWriter::enqueue);
+        return otpRequest;
+    }
+
+    @Override
+    public OtpRequest.VerificationOutcome verify(String mobileNumber, String otpCode) {
+        Optional<OtpRequest> attempted = store.verify(mobileNumber, otpCode);
+        if (attempted.isEmpty()) {
+            return OtpRequest.VerificationOutcome.NOT_FOUND;
+        }
+
+        OtpRequest otp = attempted.get();
+        if (otp.getStatus() != OtpRequest.OtpStatus.PENDING) {
+            auditWriter.enqueue(otp);
+        }
+        return OtpRequest.VerificationOutcome.fromStatus(otp.getStatus());
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        databaseRepository.deleteById(id);
+    }
+
+    @Override
+    public void deleteExpiredOtps(LocalDateTime before) {
+        databaseRepository.deleteExpiredOtps(before);
+    }
+
+    @Override
+    public int countByMobileNumberAndCreatedAtAfter(String digits, LocalDateTime after) {
+        return databaseRepository.countByMobileNumberAndCreatedAtAfter(digits, after);
+    }
+}
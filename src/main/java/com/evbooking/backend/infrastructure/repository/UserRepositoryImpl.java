@@ -3,39 +3,89 @@ package com.evbooking.backend.infrastructure.repository;
 import com.evbooking.backend.domain.model.User;
 import com.evbooking.backend.domain.repository.UserRepository;
 import com.evbooking.backend.infrastructure.entity.UserEntity;
+import com.evbooking.backend.infrastructure.mapper.UserEntityMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.persister.entity.EntityPersister;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
 public class UserRepositoryImpl implements UserRepository {
 
     private final JpaUserRepository jpaUserRepository;
+    private final UserEntityMapper userEntityMapper;
+    private final EntityManager entityManager;
 
-    public UserRepositoryImpl(JpaUserRepository jpaUserRepository) {
+    public UserRepositoryImpl(JpaUserRepository jpaUserRepository, UserEntityMapper userEntityMapper,
+                              EntityManager entityManager) {
         this.jpaUserRepository = jpaUserRepository;
+        this.userEntityMapper = userEntityMapper;
+        this.entityManager = entityManager;
     }
 
     @Override
     public Optional<User> findById(Long id) {
-        return jpaUserRepository.findById(id).map(this::toDomain);
+        return jpaUserRepository.findUserById(id);
     }
 
     @Override
     public Optional<User> findByEmail(String email) {
-        return jpaUserRepository.findByEmail(email).map(this::toDomain);
+        return jpaUserRepository.findByEmail(email).map(userEntityMapper::toDomain);
     }
 
     @Override
     public Optional<User> findByPhoneNumber(String phoneNumber) {
-        return jpaUserRepository.findByPhoneNumber(phoneNumber).map(this::toDomain);
+        return jpaUserRepository.findUserByPhoneNumber(phoneNumber);
+    }
+
+    // Used by the user cache to restore hashes it never shares between nodes
+    public Optional<String> findPasswordById(Long id) {
+        return jpaUserRepository.findPasswordById(id);
     }
 
     @Override
     public User save(User user) {
-        UserEntity entity = toEntity(user);
-        UserEntity saved = jpaUserRepository.save(entity);
-        return toDomain(saved);
+        UserEntity saved = jpaUserRepository.save(userEntityMapper.toEntity(user));
+        return userEntityMapper.toDomain(saved);
+    }
+
+    // Returning users are found before an id is drawn, so only first logins use one
+    @Override
+    @Transactional
+    public User upsertByPhoneNumber(User user) {
+        Optional<User> existing = jpaUserRepository.findUserByPhoneNumber(user.getPhoneNumber());
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        LocalDateTime now = user.getCreatedAt() != null ? user.getCreatedAt() : LocalDateTime.now();
+        return jpaUserRepository.insertOrFetchByPhoneNumber(
+                nextId(), user.getPhoneNumber(), user.getEmail(), user.getPassword(),
+                user.getFirstName(), user.getLastName(),
+                user.getRole().name(), user.getStatus().name(), now)
+            .map(userEntityMapper::toDomain)
+            // Lost a race with a concurrent first login; that row is committed now
+            .or(() -> jpaUserRepository.findUserByPhoneNumber(user.getPhoneNumber()))
+            .orElseThrow(() -> new IllegalStateException("User upsert returned no row"));
+    }
+
+    /*
+     * Takes the id from the same pooled users_seq optimizer JPA inserts use: one nextval
+     * per 50 ids. The column default would call nextval itself and throw away the rest of
+     * that 50-id block on every first login.
+     */
+    private Long nextId() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(UserEntity.class);
+        return (Long) ((IdentifierGenerator) persister.getGenerator()).generate(session, null);
     }
 
     @Override
@@ -53,33 +103,19 @@ public class UserRepositoryImpl implements UserRepository {
         return jpaUserRepository.existsByPhoneNumber(phoneNumber);
     }
 
-    private User toDomain(UserEntity entity) {
-        User user = new User();
-        user.setId(entity.getId());
-        user.setEmail(entity.getEmail());
-        user.setPassword(entity.getPassword());
-        user.setFirstName(entity.getFirstName());
-        user.setLastName(entity.getLastName());
-        user.setPhoneNumber(entity.getPhoneNumber());
-        user.setRole(entity.getRole());
-        user.setStatus(entity.getStatus());
-        user.setCreatedAt(entity.getCreatedAt());
-        user.setUpdatedAt(entity.getUpdatedAt());
-        return user;
+    @Override
+    public void revokeTokensIssuedBefore(Long userId, LocalDateTime cutoff) {
+        jpaUserRepository.revokeTokensIssuedBefore(userId, cutoff);
     }
 
-    private UserEntity toEntity(User user) {
-        UserEntity entity = new UserEntity();
-        entity.setId(user.getId());
-        entity.setEmail(user.getEmail());
-        entity.setPassword(user.getPassword());
-        entity.setFirstName(user.getFirstName());
-        entity.setLastName(user.getLastName());
-        entity.setPhoneNumber(user.getPhoneNumber());
-        entity.setRole(user.getRole());
-        entity.setStatus(user.getStatus());
-        entity.setCreatedAt(user.getCreatedAt());
-        entity.setUpdatedAt(user.getUpdatedAt());
-        return entity;
+    @Override
+    public Map<Long, LocalDateTime> findTokenRevocationsAfter(LocalDateTime since) {
+        Map<Long, LocalDateTime> revocations = new HashMap<>();
+        for (Object[] row : jpaUserRepository.findTokenRevocationsAfter(since)) {
+            Object cutoff = row[1];
+            revocations.put(((Number) row[0]).longValue(),
+                cutoff instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) cutoff);
+        }
+        return revocations;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,128 @@
+package com.evbooking.backend.infrastructure.security;
+
+import com.evbooking.backend.infrastructure.ratelimit.AimdConcurrencyLimit;
+import com.evbooking.backend.infrastructure.ratelimit.AimdConcurrencyLimit.Priority;
+import com.evbooking.backend.infrastructure.web.ApiResponseWriter;
+import com.evbooking.backend.usecase.exception.ErrorCode;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load shedding for the auth endpoints. When the database slows down, requests would
+ * otherwise queue on the connection pool for up to its connection timeout; instead an
+ * adaptive limit on requests in flight shrinks with latency and pool queueing, and the
+ * excess is answered 503 at once. Token refresh and OTP verification finish a login
+ * already under way, so they may use the whole limit; everything else only part of it.
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final boolean enabled;
+    private final AimdConcurrencyLimit limit;
+    private final DataSource dataSource;
+    private final ApiResponseWriter responseWriter;
+    private final Map<Priority, Counter> allowedCounters = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> rejectedCounters = new EnumMap<>(Priority.class);
+
+    private volatile HikariPoolMXBean pool;
+
+    public ConcurrencyLimitFilter(DataSource dataSource,
+                                  ApiResponseWriter responseWriter,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.concurrency-limit.enabled:false}") boolean enabled,
+                                  @Value("${app.concurrency-limit.initial-limit:20}") int initialLimit,
+                                  @Value("${app.concurrency-limit.min-limit:4}") int minLimit,
+                                  @Value("${app.concurrency-limit.max-limit:200}") int maxLimit,
+                                  @Value("${app.concurrency-limit.latency-target:500ms}") Duration latencyTarget,
+                                  @Value("${app.concurrency-limit.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${app.concurrency-limit.low-priority-share:0.75}") double lowPriorityShare) {
+        this.enabled = enabled;
+        this.dataSource = dataSource;
+        this.responseWriter = responseWriter;
+        this.limit = new AimdConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyTarget.toNanos(),
+            backoffRatio, lowPriorityShare, System.nanoTime());
+
+        meterRegistry.gauge("http.concurrency.limit", limit, AimdConcurrencyLimit::getLimit);
+        meterRegistry.gauge("http.concurrency.in_flight", limit, AimdConcurrencyLimit::getInFlight);
+        for (Priority priority : Priority.values()) {
+            String tag = priority.name().toLowerCase();
+            allowedCounters.put(priority, meterRegistry.counter("http.concurrency.requests", "result", "allowed", "priority", tag));
+            rejectedCounters.put(priority, meterRegistry.counter("http.concurrency.requests", "result", "rejected", "priority", tag));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Priority priority = priorityOf(request.getRequestURI());
+        if (!limit.tryAcquire(priority)) {
+            rejectedCounters.get(priority).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            responseWriter.writeError(response, ErrorCode.SERVICE_OVERLOADED);
+            return;
+        }
+
+        allowedCounters.get(priority).increment();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long now = System.nanoTime();
+            limit.release(now - start, poolSaturated(), now);
+        }
+    }
+
+    private static Priority priorityOf(String requestPath) {
+        return requestPath.endsWith("/refresh-token") || requestPath.endsWith("/verify-otp")
+            ? Priority.HIGH
+            : Priority.LOW;
+    }
+
+    private boolean poolSaturated() {
+        HikariPoolMXBean current = pool;
+        if (current == null) {
+            // Hikari starts its pool on first use, so look it up lazily
+            current = pool = lookUpPool();
+        }
+        return current != null && current.getThreadsAwaitingConnection() > 0;
+    }
+
+    private HikariPoolMXBean lookUpPool() {
+        try {
+            // The DataSource may be wrapped for query metrics
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                ? dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean()
+                : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -1,42 +1,36 @@
 package com.evbooking.backend.infrastructure.security;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.evbooking.backend.infrastructure.web.ApiResponseWriter;
+import com.evbooking.backend.usecase.exception.ErrorCode;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
 @Component
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationEntryPoint.class);
 
+    private final ApiResponseWriter responseWriter;
+
+    public JwtAuthenticationEntryPoint(ApiResponseWriter responseWriter) {
+        this.responseWriter = responseWriter;
+    }
+
     @Override
     public void commence(HttpServletRequest request,
                         HttpServletResponse response,
                         AuthenticationException authException) throws IOException {
 
-        logger.error("Unauthorized error: {}", authException.getMessage());
-
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-
-        Map<String, Object> body = new HashMap<>();
-        body.put("status", HttpServletResponse.SC_UNAUTHORIZED);
-        body.put("error", "Unauthorized");
-        body.put("message", "Access Denied: Authentication required");
-        body.put("path", request.getServletPath());
-        body.put("timestamp", System.currentTimeMillis());
+        // Unauthenticated calls are routine; logging each at error level would flood the logs under a storm
+        logger.debug("Unauthorized request to {}: {}", request.getServletPath(), authException.getMessage());
 
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.writeValue(response.getOutputStream(), body);
+        responseWriter.writeError(response, ErrorCode.UNAUTHORIZED);
     }
-}
\ No newline at end of file
+}
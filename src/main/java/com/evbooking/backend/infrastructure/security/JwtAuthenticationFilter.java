@@ -1,6 +1,11 @@
 package com.evbooking.backend.infrastructure.security;
 
+import com.evbooking.backend.domain.model.AuthenticatedUser;
+import com.evbooking.backend.domain.model.UserRole;
+import com.evbooking.backend.infrastructure.web.ApiResponseWriter;
+import com.evbooking.backend.usecase.exception.ErrorCode;
 import com.evbooking.backend.usecase.service.JwtTokenService;
+import com.evbooking.backend.usecase.service.TokenRevocationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,20 +23,37 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    private static final Map<UserRole, List<SimpleGrantedAuthority>> AUTHORITIES = new EnumMap<>(UserRole.class);
+
+    static {
+        for (UserRole role : UserRole.values()) {
+            AUTHORITIES.put(role, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
     private final JwtTokenService jwtTokenService;
+    private final TokenRevocationRegistry tokenRevocations;
+    private final ApiResponseWriter responseWriter;
 
     @Value("${app.security.client-token:Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9}")
     private String clientToken;
 
-    public JwtAuthenticationFilter(JwtTokenService jwtTokenService) {
+    public JwtAuthenticationFilter(JwtTokenService jwtTokenService,
+                                   TokenRevocationRegistry tokenRevocations,
+                                   ApiResponseWriter responseWriter) {
         this.jwtTokenService = jwtTokenService;
+        this.tokenRevocations = tokenRevocations;
+        this.responseWriter = responseWriter;
     }
 
     @Override
@@ -47,8 +69,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // Still check for client token on auth endpoints
                 if (requestPath.startsWith("/api/auth/")) {
                     if (!validateClientToken(request)) {
-                        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                        response.getWriter().write("{\"error\":\"Invalid or missing client token\"}");
+                        responseWriter.writeError(response, ErrorCode.CLIENT_TOKEN_INVALID);
                         return;
                     }
                 }
@@ -56,32 +77,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // Get JWT token from request
+            // Get JWT token from request and verify it in a single pass
             String jwt = getJwtFromRequest(request);
+            // Revocation is checked on every request, including tokens served from the verified-token cache
+            Optional<AuthenticatedUser> principal = jwt != null
+                ? jwtTokenService.verifyAccessToken(jwt).filter(user -> !tokenRevocations.isRevoked(user))
+                : Optional.empty();
 
-            if (jwt != null && jwtTokenService.validateToken(jwt)) {
-                // Extract user information from JWT
-                String phoneNumber = jwtTokenService.extractPhoneNumber(jwt);
-                Long userId = jwtTokenService.extractUserId(jwt);
-                String role = jwtTokenService.extractRole(jwt);
-
-                if (phoneNumber != null && userId != null) {
-                    // Create authentication object
-                    List<SimpleGrantedAuthority> authorities = Collections.singletonList(
-                        new SimpleGrantedAuthority("ROLE_" + role)
-                    );
+            if (principal.isPresent()) {
+                AuthenticatedUser user = principal.get();
 
-                    UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(phoneNumber, null, authorities);
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(user, null, AUTHORITIES.get(user.getRole()));
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    // Set user ID in request attribute for easy access in controllers
-                    request.setAttribute("userId", userId);
-                    request.setAttribute("userRole", role);
-
-                    // Set authentication in security context
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+                // Set authentication in security context
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             } else {
                 logger.debug("JWT token is null, empty, or invalid for request: {}", requestPath);
             }
@@ -113,8 +124,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             try {
-                return jwtTokenService.validateToken(token) &&
-                       jwtTokenService.isClientApiToken(token);
+                return jwtTokenService.isClientApiToken(token);
             } catch (Exception e) {
                 logger.debug("Client token validation failed: {}", e.getMessage());
             }
@@ -124,6 +134,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     private boolean isPublicEndpoint(String requestPath) {
+        // Logging out of every device acts on the caller's own sessions, so it needs a user token
+        if (requestPath.equals("/api/auth/logout-all")) {
+            return false;
+        }
+
         return requestPath.startsWith("/api/auth/") ||
                requestPath.startsWith("/api/public/") ||
                requestPath.equals("/api/actuator/health") ||
@@ -0,0 +1,35 @@
+package com.evbooking.backend.infrastructure.security;
+
+import com.evbooking.backend.usecase.service.JwtKeyRing;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint listing the key ids this node signs and verifies with, to check a
+ * rolling key rotation has reached it. Keys change only through configuration (see
+ * {@link JwtKeyRing}). Only reachable when exposed through
+ * management.endpoints.web.exposure and, like every other actuator path, restricted to
+ * ADMIN by SecurityConfig.
+ */
+@Component
+@Endpoint(id = "jwtkeys")
+public class JwtKeyRingEndpoint {
+
+    private final JwtKeyRing keyRing;
+
+    public JwtKeyRingEndpoint(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    @ReadOperation
+    public Map<String, Object> keys() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("activeKeyId", keyRing.getActiveKey().getKeyId());
+        body.put("keyIds", keyRing.getKeys().keySet());
+        return body;
+    }
+}
@@ -0,0 +1,121 @@
+package com.evbooking.backend.infrastructure.security;
+
+import com.evbooking.backend.domain.model.AuthenticatedUser;
+import com.evbooking.backend.infrastructure.ratelimit.TokenBucket;
+import com.evbooking.backend.infrastructure.web.ApiResponseWriter;
+import com.evbooking.backend.presentation.dto.ApiResponse;
+import com.evbooking.backend.usecase.service.VerifiedTokenCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token bucket applied ahead of JWT verification, so rejected traffic never
+ * reaches token parsing or the database. Requests are keyed by user id when the bearer
+ * token is already in the verified-token cache, otherwise by client IP. Auth endpoints
+ * carry the client token, which is one configured value shared by every app install; as
+ * a key it would put all clients in one bucket, so they fall back to IP too.
+ * An unverified token is never used as a key; rotating junk tokens must not buy new buckets.
+ */
+@Component
+public class RateLimitingFilter extends OncePerRequestFilter {
+
+    private static final long ONE_MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final boolean enabled;
+    private final int requestsPerMinute;
+    private final int burst;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Cache<String, TokenBucket> buckets;
+    private final ApiResponseWriter responseWriter;
+    private final byte[] rejectionBody;
+
+    private final Counter allowedCounter;
+    private final Counter rejectedCounter;
+
+    public RateLimitingFilter(VerifiedTokenCache verifiedTokenCache,
+                              ApiResponseWriter responseWriter,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.rate-limiting.enabled:false}") boolean enabled,
+                              @Value("${app.rate-limiting.requests-per-minute:100}") int requestsPerMinute,
+                              @Value("${app.rate-limiting.burst:0}") int burst,
+                              @Value("${app.rate-limiting.max-buckets:100000}") long maxBuckets) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.responseWriter = responseWriter;
+        this.enabled = enabled;
+        this.requestsPerMinute = requestsPerMinute;
+        this.burst = burst > 0 ? burst : requestsPerMinute;
+
+        // Dropped only once idle long enough to have refilled completely, so recreating it full loses nothing
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(refillTime(this.burst, requestsPerMinute))
+                .build();
+
+        this.rejectionBody = responseWriter.serialize(
+            ApiResponse.error("Too many requests", "Rate limit exceeded, please retry later"));
+
+        meterRegistry.gaugeMapSize("http.ratelimit.buckets", List.of(), buckets.asMap());
+        this.allowedCounter = meterRegistry.counter("http.ratelimit.requests", "result", "allowed");
+        this.rejectedCounter = meterRegistry.counter("http.ratelimit.requests", "result", "rejected");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || request.getRequestURI().equals("/api/actuator/health");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(resolveKey(request),
+            key -> new TokenBucket(burst, requestsPerMinute, ONE_MINUTE_NANOS, now));
+        long waitNanos = bucket.tryConsume(now);
+
+        if (waitNanos == 0) {
+            allowedCounter.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejectedCounter.increment();
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1)));
+        responseWriter.write(response, HttpStatus.TOO_MANY_REQUESTS.value(), rejectionBody);
+    }
+
+    private String resolveKey(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            AuthenticatedUser user = verifiedTokenCache.peek(authHeader.substring(7));
+            if (user != null) {
+                return "user:" + user.getUserId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    // Whole minutes for an empty bucket to refill at requestsPerMinute
+    private static Duration refillTime(int burst, int requestsPerMinute) {
+        return Duration.ofMinutes(Math.max(1, (burst + requestsPerMinute - 1) / requestsPerMinute));
+    }
+}
@@ -20,11 +20,17 @@ public class SecurityConfig {
 
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitingFilter rateLimitingFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
 
     public SecurityConfig(JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
-                         JwtAuthenticationFilter jwtAuthenticationFilter) {
+                         JwtAuthenticationFilter jwtAuthenticationFilter,
+                         RateLimitingFilter rateLimitingFilter,
+                         ConcurrencyLimitFilter concurrencyLimitFilter) {
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitingFilter = rateLimitingFilter;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
     }
 
     @Bean
@@ -63,7 +69,14 @@ public class SecurityConfig {
                 // All other requests require authentication
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            // Each filter is placed before the next so all three get distinct orders; addFilterAfter
+            // the rate limiter would share the JWT filter's order and run after it.
+            // Order: rate limiter, concurrency limiter, JWT authentication.
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // Shed load ahead of token parsing
+            .addFilterBefore(concurrencyLimitFilter, JwtAuthenticationFilter.class)
+            // Reject over-limit clients before they take a concurrency slot
+            .addFilterBefore(rateLimitingFilter, ConcurrencyLimitFilter.class);
 
         return http.build();
     }
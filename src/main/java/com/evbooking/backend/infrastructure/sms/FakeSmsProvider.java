@@ -0,0 +1,68 @@
+package com.evbooking.backend.infrastructure.sms;
+
+import com.evbooking.backend.usecase.service.SmsMessage;
+import com.evbooking.backend.usecase.service.SmsProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for an SMS gateway. Logs messages instead of sending them and can
+ * inject latency and failures for load testing the dispatch pipeline.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.sms.provider", havingValue = "fake", matchIfMissing = true)
+public class FakeSmsProvider implements SmsProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(FakeSmsProvider.class);
+
+    private final Duration latency;
+    private final double failureRate;
+    private final int batchSize;
+
+    public FakeSmsProvider(@Value("${app.otp.sms.fake.latency:500ms}") Duration latency,
+                           @Value("${app.otp.sms.fake.failure-rate:0}") double failureRate,
+                           @Value("${app.otp.sms.fake.batch-size:1}") int batchSize) {
+        this.latency = latency;
+        this.failureRate = failureRate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void send(SmsMessage message) throws Exception {
+        sendBatch(List.of(message));
+    }
+
+    @Override
+    public void sendBatch(List<SmsMessage> messages) throws Exception {
+        // One simulated gateway round trip per call, whatever the batch size
+        Thread.sleep(latency.toMillis());
+
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IllegalStateException("Simulated SMS gateway failure");
+        }
+
+        for (SmsMessage message : messages) {
+            logger.debug("Fake SMS delivered to {} (attempt {})",
+                maskMobileNumber(message.getMobileNumber()), message.getAttempt());
+        }
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return batchSize;
+    }
+
+    private String maskMobileNumber(String mobileNumber) {
+        if (mobileNumber == null || mobileNumber.length() < 4) {
+            return "****";
+        }
+        return mobileNumber.substring(0, 2) + "****" + mobileNumber.substring(mobileNumber.length() - 2);
+    }
+}
@@ -0,0 +1,63 @@
+package com.evbooking.backend.infrastructure.web;
+
+import com.evbooking.backend.presentation.dto.ApiResponse;
+import com.evbooking.backend.usecase.exception.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Writes {@link ApiResponse} bodies outside Spring MVC, for filters and the security
+ * entry point. Uses the application's ObjectMapper through a writer bound to ApiResponse
+ * once, and serializes the body of every {@link ErrorCode} at startup, so an error
+ * answered from here is a copy of bytes that already exist.
+ */
+@Component
+public class ApiResponseWriter {
+
+    private final ObjectWriter writer;
+    private final Map<ErrorCode, byte[]> errorBodies = new EnumMap<>(ErrorCode.class);
+
+    public ApiResponseWriter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(ApiResponse.class);
+        for (ErrorCode code : ErrorCode.values()) {
+            errorBodies.put(code, serialize(ApiResponse.error(code)));
+        }
+    }
+
+    /**
+     * Serializes a response once, for callers that precompute their own fixed bodies.
+     */
+    public byte[] serialize(ApiResponse<?> response) {
+        try {
+            return writer.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize response", e);
+        }
+    }
+
+    /**
+     * The shared body for a code. Callers must not modify it.
+     */
+    public byte[] errorBody(ErrorCode code) {
+        return errorBodies.get(code);
+    }
+
+    public void writeError(HttpServletResponse response, ErrorCode code) throws IOException {
+        write(response, code.getHttpStatus(), errorBodies.get(code));
+    }
+
+    public void write(HttpServletResponse response, int status, byte[] body) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -0,0 +1,91 @@
+package com.evbooking.backend.presentation.controller;
+
+import com.evbooking.backend.infrastructure.web.ApiResponseWriter;
+import com.evbooking.backend.usecase.exception.AuthException;
+import com.evbooking.backend.usecase.exception.ErrorCode;
+import jakarta.servlet.ServletException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.ErrorResponseException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Turns failures into error responses in one place. Expected failures are
+ * {@link AuthException}s and answer with the body serialized at startup for their
+ * {@link ErrorCode}. Requests Spring MVC itself turns away (unknown path, wrong method or
+ * media type, missing parameter) keep the status it assigns. Anything else is a bug, is
+ * logged with its stack trace and answers 500 without leaking its message.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    // Bodies are written as-is by the byte array converter, skipping Jackson per error
+    private final Map<ErrorCode, ResponseEntity<byte[]>> responses = new EnumMap<>(ErrorCode.class);
+
+    public ApiExceptionHandler(ApiResponseWriter responseWriter) {
+        for (ErrorCode code : ErrorCode.values()) {
+            responses.put(code, ResponseEntity.status(code.getHttpStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(responseWriter.errorBody(code)));
+        }
+    }
+
+    @ExceptionHandler(AuthException.class)
+    public ResponseEntity<byte[]> handleAuthException(AuthException e) {
+        return responses.get(e.getErrorCode());
+    }
+
+    @ExceptionHandler({MethodArgumentNotValidException.class, HttpMessageNotReadableException.class,
+                       TypeMismatchException.class})
+    public ResponseEntity<byte[]> handleInvalidRequest(Exception e) {
+        return responses.get(ErrorCode.VALIDATION_FAILED);
+    }
+
+    // Spring MVC's own rejections implement ErrorResponse, which carries the status and any headers (e.g. Allow)
+    @ExceptionHandler({ServletException.class, ErrorResponseException.class})
+    public ResponseEntity<byte[]> handleRejectedRequest(Exception e) {
+        if (!(e instanceof ErrorResponse errorResponse) || !errorResponse.getStatusCode().is4xxClientError()) {
+            return handleUnexpected(e);
+        }
+        logger.debug("Rejected request: {}", e.getMessage());
+
+        HttpStatusCode status = errorResponse.getStatusCode();
+        ResponseEntity<byte[]> response = responses.get(codeFor(status));
+        if (response.getStatusCode().equals(status) && errorResponse.getHeaders().isEmpty()) {
+            return response;
+        }
+        return ResponseEntity.status(status)
+            .headers(response.getHeaders())
+            .headers(errorResponse.getHeaders())
+            .body(response.getBody());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<byte[]> handleUnexpected(Exception e) {
+        logger.error("Unhandled error", e);
+        return responses.get(ErrorCode.INTERNAL_ERROR);
+    }
+
+    private static ErrorCode codeFor(HttpStatusCode status) {
+        return switch (status.value()) {
+            case 404 -> ErrorCode.NOT_FOUND;
+            case 405 -> ErrorCode.METHOD_NOT_ALLOWED;
+            case 415 -> ErrorCode.UNSUPPORTED_MEDIA_TYPE;
+            // Any other client error keeps its own status with the generic body
+            default -> ErrorCode.VALIDATION_FAILED;
+        };
+    }
+}
@@ -1,14 +1,17 @@
 package com.evbooking.backend.presentation.controller;
 
+import com.evbooking.backend.domain.model.AuthenticatedUser;
 import com.evbooking.backend.presentation.dto.*;
+import com.evbooking.backend.usecase.exception.AuthException;
 import com.evbooking.backend.usecase.service.AuthenticationService;
 import com.evbooking.backend.usecase.service.JwtTokenService;
 import com.evbooking.backend.domain.model.OtpRequest;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+// Failures are rendered by ApiExceptionHandler
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
@@ -24,135 +27,90 @@ public class AuthController {
 
     @PostMapping("/send-otp")
     public ResponseEntity<ApiResponse<OtpResponse>> sendOtp(@Valid @RequestBody SendOtpRequest request) {
-        try {
-            OtpRequest otpRequest = authenticationService.sendOtp(request.getMobileNumber());
+        OtpRequest otpRequest = authenticationService.sendOtp(request.getMobileNumber());
 
-            OtpResponse response = new OtpResponse(
-                otpRequest.getId(),
-                "OTP sent successfully",
-                otpRequest.getExpiresAt()
-            );
+        OtpResponse response = new OtpResponse(
+            otpRequest.getId(),
+            "OTP sent successfully",
+            otpRequest.getExpiresAt()
+        );
 
-            return ResponseEntity.ok(ApiResponse.success(response));
-
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                .body(ApiResponse.error(e.getMessage()));
-        }
+        return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @PostMapping("/resend-otp")
     public ResponseEntity<ApiResponse<OtpResponse>> resendOtp(@Valid @RequestBody SendOtpRequest request) {
-        try {
-            OtpRequest otpRequest = authenticationService.resendOtp(request.getMobileNumber());
-
-            OtpResponse response = new OtpResponse(
-                otpRequest.getId(),
-                "OTP resent successfully",
-                otpRequest.getExpiresAt()
-            );
+        OtpRequest otpRequest = authenticationService.resendOtp(request.getMobileNumber());
 
-            return ResponseEntity.ok(ApiResponse.success(response));
+        OtpResponse response = new OtpResponse(
+            otpRequest.getId(),
+            "OTP resent successfully",
+            otpRequest.getExpiresAt()
+        );
 
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                .body(ApiResponse.error(e.getMessage()));
-        }
+        return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @PostMapping("/verify-otp")
     public ResponseEntity<ApiResponse<AuthenticationResponse>> verifyOtp(@Valid @RequestBody VerifyOtpRequest request) {
-        try {
-            AuthenticationService.AuthenticationResult result = authenticationService
-                .verifyOtpAndLogin(request.getMobileNumber(), request.getOtpCode());
-
-            AuthenticationResponse response = new AuthenticationResponse(
-                result.getUser().getId(),
-                result.getUser().getPhoneNumber(),
-                result.getUser().getEmail(),
-                result.getUser().getFirstName(),
-                result.getUser().getLastName(),
-                result.getUser().getRole().name(),
-                result.getAccessToken(),
-                result.getRefreshToken()
-            );
-
-            return ResponseEntity.ok(ApiResponse.success(response));
-
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                .body(ApiResponse.error(e.getMessage()));
-        }
+        AuthenticationService.AuthenticationResult result = authenticationService
+            .verifyOtpAndLogin(request.getMobileNumber(), request.getOtpCode());
+
+        AuthenticationResponse response = new AuthenticationResponse(
+            result.getUser().getId(),
+            result.getUser().getPhoneNumber(),
+            result.getUser().getEmail(),
+            result.getUser().getFirstName(),
+            result.getUser().getLastName(),
+            result.getUser().getRole().name(),
+            result.getAccessToken(),
+            result.getRefreshToken()
+        );
+
+        return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @PostMapping("/refresh-token")
     public ResponseEntity<ApiResponse<RefreshTokenResponse>> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
-        try {
-            AuthenticationService.AuthenticationResult result = authenticationService
-                .refreshAccessToken(request.getRefreshToken());
-
-            RefreshTokenResponse response = new RefreshTokenResponse(
-                result.getAccessToken(),
-                result.getRefreshToken()
-            );
+        AuthenticationService.AuthenticationResult result = authenticationService
+            .refreshAccessToken(request.getRefreshToken());
 
-            return ResponseEntity.ok(ApiResponse.success(response));
+        RefreshTokenResponse response = new RefreshTokenResponse(
+            result.getAccessToken(),
+            result.getRefreshToken()
+        );
 
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                .body(ApiResponse.error(e.getMessage()));
-        }
+        return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @PostMapping("/logout")
     public ResponseEntity<ApiResponse<String>> logout(@Valid @RequestBody LogoutRequest request) {
-        try {
-            authenticationService.logout(request.getRefreshToken());
-            return ResponseEntity.ok(ApiResponse.success("Logout successful"));
-
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                .body(ApiResponse.error(e.getMessage()));
-        }
+        authenticationService.logout(request.getRefreshToken());
+        return ResponseEntity.ok(ApiResponse.success("Logout successful"));
     }
 
     @PostMapping("/logout-all")
-    public ResponseEntity<ApiResponse<String>> logoutAllDevices(HttpServletRequest request) {
-        try {
-            // Get user ID from request attributes (set by JWT filter)
-            Long userId = (Long) request.getAttribute("userId");
-
-            if (userId == null) {
-                return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("User not authenticated"));
-            }
-
-            authenticationService.logoutAllDevices(userId);
-            return ResponseEntity.ok(ApiResponse.success("Logged out from all devices"));
-
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                .body(ApiResponse.error(e.getMessage()));
+    public ResponseEntity<ApiResponse<String>> logoutAllDevices(@AuthenticationPrincipal AuthenticatedUser principal) {
+        // Principal is the verified token set by the JWT filter
+        if (principal == null) {
+            throw AuthException.NOT_AUTHENTICATED;
         }
+
+        authenticationService.logoutAllDevices(principal.getUserId());
+        return ResponseEntity.ok(ApiResponse.success("Logged out from all devices"));
     }
 
     @GetMapping("/generate-client-token")
     public ResponseEntity<ApiResponse<ClientTokenResponse>> generateClientToken() {
         // This endpoint should be protected and only accessible during development
         // In production, client tokens should be pre-generated and distributed
-        try {
-            String clientToken = jwtTokenService.generateClientApiToken();
-
-            ClientTokenResponse response = new ClientTokenResponse(
-                clientToken,
-                "Client API token generated successfully. Use this in Authorization header with Bearer prefix."
-            );
+        String clientToken = jwtTokenService.generateClientApiToken();
 
-            return ResponseEntity.ok(ApiResponse.success(response));
+        ClientTokenResponse response = new ClientTokenResponse(
+            clientToken,
+            "Client API token generated successfully. Use this in Authorization header with Bearer prefix."
+        );
 
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                .body(ApiResponse.error(e.getMessage()));
-        }
+        return ResponseEntity.ok(ApiResponse.success(response));
     }
-}
\ No newline at end of file
+}
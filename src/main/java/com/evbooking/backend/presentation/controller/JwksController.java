@@ -0,0 +1,77 @@
+package com.evbooking.backend.presentation.controller;
+
+import com.evbooking.backend.usecase.service.JwtKeyRing;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigInteger;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the public token-signing keys as a JSON Web Key Set so other services
+ * can verify access tokens locally. The body follows RFC 7517 rather than the
+ * ApiResponse envelope, since JWT libraries consume it directly.
+ */
+@RestController
+@RequestMapping("/public")
+public class JwksController {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final JwtKeyRing keyRing;
+
+    public JwksController(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+
+        for (JwtKeyRing.KeyEntry entry : keyRing.getKeys().values()) {
+            // HMAC secrets are never published
+            if (entry.getVerificationKey() instanceof ECPublicKey publicKey) {
+                keys.add(toJwk(entry, publicKey));
+            }
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("keys", keys);
+
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+            .body(body);
+    }
+
+    private Map<String, Object> toJwk(JwtKeyRing.KeyEntry entry, ECPublicKey publicKey) {
+        int size = (publicKey.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("use", "sig");
+        jwk.put("alg", entry.getAlgorithm().getValue());
+        jwk.put("kid", entry.getKeyId());
+        jwk.put("x", encodeCoordinate(publicKey.getW().getAffineX(), size));
+        jwk.put("y", encodeCoordinate(publicKey.getW().getAffineY(), size));
+        return jwk;
+    }
+
+    // JWK coordinates are fixed-width unsigned big-endian values
+    private String encodeCoordinate(BigInteger value, int size) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[size];
+        int length = Math.min(bytes.length, size);
+        System.arraycopy(bytes, bytes.length - length, fixed, size - length, length);
+        return BASE64_URL.encodeToString(fixed);
+    }
+}
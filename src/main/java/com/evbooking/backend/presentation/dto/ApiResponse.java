@@ -1,5 +1,6 @@
 package com.evbooking.backend.presentation.dto;
 
+import com.evbooking.backend.usecase.exception.ErrorCode;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -8,6 +9,7 @@ public class ApiResponse<T> {
     private String message;
     private T data;
     private String error;
+    private String code;
 
     public ApiResponse() {}
 
@@ -40,6 +42,12 @@ public class ApiResponse<T> {
         return response;
     }
 
+    public static <T> ApiResponse<T> error(ErrorCode code) {
+        ApiResponse<T> response = error(code.getMessage());
+        response.code = code.name();
+        return response;
+    }
+
     // Getters and Setters
     public boolean isSuccess() { return success; }
     public void setSuccess(boolean success) { this.success = success; }
@@ -52,4 +60,7 @@ public class ApiResponse<T> {
 
     public String getError() { return error; }
     public void setError(String error) { this.error = error; }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
 }
\ No newline at end of file
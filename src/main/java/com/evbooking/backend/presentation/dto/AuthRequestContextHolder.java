@@ -1,18 +1,26 @@
 package com.evbooking.backend.presentation.dto;
 
-import org.springframework.web.context.request.RequestAttributes;
+import com.evbooking.backend.domain.model.AuthenticatedUser;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
 
 public class AuthRequestContextHolder {
 
+    public static Optional<AuthenticatedUser> getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        return Optional.empty();
+    }
+
     public static Long getCurrentUserId() {
-        RequestAttributes requestAttributes = org.springframework.web.context.request.RequestContextHolder.currentRequestAttributes();
-        Object userId = requestAttributes.getAttribute("userId", RequestAttributes.SCOPE_REQUEST);
-        return userId != null ? (Long) userId : null;
+        return getCurrentUser().map(AuthenticatedUser::getUserId).orElse(null);
     }
 
     public static String getCurrentUserRole() {
-        RequestAttributes requestAttributes = org.springframework.web.context.request.RequestContextHolder.currentRequestAttributes();
-        Object userRole = requestAttributes.getAttribute("userRole", RequestAttributes.SCOPE_REQUEST);
-        return userRole != null ? (String) userRole : null;
+        return getCurrentUser().map(user -> user.getRole().name()).orElse(null);
     }
-}
\ No newline at end of file
+}
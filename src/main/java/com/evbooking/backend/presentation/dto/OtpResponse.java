@@ -1,7 +1,11 @@
 package com.evbooking.backend.presentation.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
 
+// otpId is absent while the OTP only lives in the hot store
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class OtpResponse {
     private Long otpId;
     private String message;
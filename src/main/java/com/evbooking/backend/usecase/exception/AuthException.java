@@ -0,0 +1,25 @@
+package com.evbooking.backend.usecase.exception;
+
+/**
+ * Base of the expected, client-caused failures on the auth paths. These are control flow,
+ * not bugs: they carry no stack trace and no cause, so each code is a single shared
+ * instance and throwing one costs no more than a return. Anything that needs a stack
+ * trace to debug should not be one of these.
+ */
+public class AuthException extends RuntimeException {
+
+    public static final AuthException USER_NOT_FOUND = new AuthException(ErrorCode.USER_NOT_FOUND);
+    public static final AuthException NOT_AUTHENTICATED = new AuthException(ErrorCode.NOT_AUTHENTICATED);
+
+    private final ErrorCode errorCode;
+
+    protected AuthException(ErrorCode errorCode) {
+        // No suppression list and an unwritable stack trace keep the shared instances immutable
+        super(errorCode.getMessage(), null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+}
@@ -0,0 +1,50 @@
+package com.evbooking.backend.usecase.exception;
+
+/**
+ * Stable, client-facing error codes. The name is part of the API contract (returned as
+ * {@code code} in error responses); the message is the human-readable default. Request
+ * failures answer 400, as the controllers did before these existed; missing credentials
+ * answer 401, requests no endpoint accepts answer their HTTP status and shed load 503.
+ */
+public enum ErrorCode {
+
+    MOBILE_NUMBER_REQUIRED(400, "Mobile number is required"),
+    INVALID_MOBILE_NUMBER(400, "Invalid mobile number format"),
+    VALIDATION_FAILED(400, "Invalid request"),
+    NOT_FOUND(404, "Resource not found"),
+    METHOD_NOT_ALLOWED(405, "Method not allowed"),
+    UNSUPPORTED_MEDIA_TYPE(415, "Unsupported media type"),
+
+    OTP_NOT_FOUND(400, "No pending OTP found for this mobile number"),
+    OTP_EXPIRED(400, "OTP has expired"),
+    OTP_INVALID(400, "Invalid OTP"),
+    OTP_RATE_LIMITED(400, "Too many OTP requests. Please try again later"),
+    OTP_SERVICE_BUSY(400, "OTP service is busy. Please try again shortly"),
+
+    REFRESH_TOKEN_INVALID(400, "Invalid refresh token"),
+    REFRESH_TOKEN_EXPIRED(400, "Refresh token is expired or revoked"),
+    TOKEN_EXPIRED(400, "JWT token is expired"),
+    TOKEN_UNSUPPORTED(400, "JWT token is unsupported"),
+    TOKEN_MALFORMED(400, "JWT token is malformed"),
+    TOKEN_SIGNATURE_INVALID(400, "JWT signature validation failed"),
+    TOKEN_INVALID(400, "JWT token is invalid"),
+
+    USER_NOT_FOUND(400, "User not found"),
+    NOT_AUTHENTICATED(400, "User not authenticated"),
+    UNAUTHORIZED(401, "Access Denied: Authentication required"),
+    CLIENT_TOKEN_INVALID(401, "Invalid or missing client token"),
+
+    SERVICE_OVERLOADED(503, "Service is busy, please retry shortly"),
+    INTERNAL_ERROR(500, "Something went wrong, please try again");
+
+    private final int httpStatus;
+    private final String message;
+
+    ErrorCode(int httpStatus, String message) {
+        this.httpStatus = httpStatus;
+        this.message = message;
+    }
+
+    public int getHttpStatus() { return httpStatus; }
+    public String getMessage() { return message; }
+}
@@ -0,0 +1,13 @@
+package com.evbooking.backend.usecase.exception;
+
+public class InvalidRequestException extends AuthException {
+
+    public static final InvalidRequestException MOBILE_NUMBER_REQUIRED =
+        new InvalidRequestException(ErrorCode.MOBILE_NUMBER_REQUIRED);
+    public static final InvalidRequestException INVALID_MOBILE_NUMBER =
+        new InvalidRequestException(ErrorCode.INVALID_MOBILE_NUMBER);
+
+    private InvalidRequestException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+}
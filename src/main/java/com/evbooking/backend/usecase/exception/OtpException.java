@@ -0,0 +1,14 @@
+package com.evbooking.backend.usecase.exception;
+
+public class OtpException extends AuthException {
+
+    public static final OtpException NOT_FOUND = new OtpException(ErrorCode.OTP_NOT_FOUND);
+    public static final OtpException EXPIRED = new OtpException(ErrorCode.OTP_EXPIRED);
+    public static final OtpException INVALID = new OtpException(ErrorCode.OTP_INVALID);
+    public static final OtpException RATE_LIMITED = new OtpException(ErrorCode.OTP_RATE_LIMITED);
+    public static final OtpException SERVICE_BUSY = new OtpException(ErrorCode.OTP_SERVICE_BUSY);
+
+    private OtpException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+}
@@ -0,0 +1,16 @@
+package com.evbooking.backend.usecase.exception;
+
+public class TokenException extends AuthException {
+
+    public static final TokenException REFRESH_INVALID = new TokenException(ErrorCode.REFRESH_TOKEN_INVALID);
+    public static final TokenException REFRESH_EXPIRED = new TokenException(ErrorCode.REFRESH_TOKEN_EXPIRED);
+    public static final TokenException EXPIRED = new TokenException(ErrorCode.TOKEN_EXPIRED);
+    public static final TokenException UNSUPPORTED = new TokenException(ErrorCode.TOKEN_UNSUPPORTED);
+    public static final TokenException MALFORMED = new TokenException(ErrorCode.TOKEN_MALFORMED);
+    public static final TokenException SIGNATURE_INVALID = new TokenException(ErrorCode.TOKEN_SIGNATURE_INVALID);
+    public static final TokenException INVALID = new TokenException(ErrorCode.TOKEN_INVALID);
+
+    private TokenException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+}
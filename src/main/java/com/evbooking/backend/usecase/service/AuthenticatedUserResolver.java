@@ -0,0 +1,39 @@
+package com.evbooking.backend.usecase.service;
+
+import com.evbooking.backend.domain.model.AuthenticatedUser;
+import com.evbooking.backend.domain.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Fills in the profile fields compact access tokens leave out. Principals from full tokens
+ * are returned as they are; the others are completed from {@link UserRepository}, whose
+ * primary implementation serves lookups by id from the user cache.
+ */
+@Component
+public class AuthenticatedUserResolver {
+
+    private final UserRepository userRepository;
+
+    public AuthenticatedUserResolver(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * The principal with phone number and status set, or empty if the user no longer exists.
+     */
+    public Optional<AuthenticatedUser> withProfile(AuthenticatedUser principal) {
+        if (principal.hasProfile()) {
+            return Optional.of(principal);
+        }
+        return userRepository.findById(principal.getUserId())
+            .map(user -> new AuthenticatedUser(
+                principal.getUserId(),
+                user.getPhoneNumber(),
+                principal.getRole(),
+                user.getStatus(),
+                principal.getIssuedAt(),
+                principal.getExpiresAt()));
+    }
+}
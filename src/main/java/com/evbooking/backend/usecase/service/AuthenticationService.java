@@ -2,9 +2,14 @@ package com.evbooking.backend.usecase.service;
 
 import com.evbooking.backend.domain.model.*;
 import com.evbooking.backend.domain.repository.*;
+import com.evbooking.backend.usecase.exception.AuthException;
+import com.evbooking.backend.usecase.exception.InvalidRequestException;
+import com.evbooking.backend.usecase.exception.OtpException;
+import com.evbooking.backend.usecase.exception.TokenException;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 public class AuthenticationService {
@@ -14,85 +19,76 @@ public class AuthenticationService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final OtpService otpService;
     private final JwtTokenService jwtTokenService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final OtpRateLimiter otpRateLimiter;
+    private final TokenRevocationRegistry tokenRevocations;
 
     public AuthenticationService(UserRepository userRepository,
                                OtpRequestRepository otpRequestRepository,
                                RefreshTokenRepository refreshTokenRepository,
                                OtpService otpService,
-                               JwtTokenService jwtTokenService) {
+                               JwtTokenService jwtTokenService,
+                               VerifiedTokenCache verifiedTokenCache,
+                               OtpRateLimiter otpRateLimiter,
+                               TokenRevocationRegistry tokenRevocations) {
         this.userRepository = userRepository;
         this.otpRequestRepository = otpRequestRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.otpService = otpService;
         this.jwtTokenService = jwtTokenService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.otpRateLimiter = otpRateLimiter;
+        this.tokenRevocations = tokenRevocations;
     }
 
     public OtpRequest sendOtp(String mobileNumber) {
         validateMobileNumber(mobileNumber);
-        checkOtpRateLimit(mobileNumber);
 
-        // Generate OTP (static 1234 for now)
-        String otpCode = "1234";
-
-        // Invalidate any existing pending OTPs
-        invalidateExistingOtps(mobileNumber);
-
-        // Create new OTP request
-        OtpRequest otpRequest = new OtpRequest(mobileNumber, otpCode, OtpRequest.OtpType.LOGIN);
-        otpRequest = otpRequestRepository.save(otpRequest);
-
-        // Send OTP (for now just log it)
-        otpService.sendOtp(mobileNumber, otpCode);
-
-        return otpRequest;
+        return withDeliveryReserved(() -> {
+            checkOtpRateLimit(mobileNumber);
+            return issueOtp(mobileNumber);
+        });
     }
 
     public OtpRequest resendOtp(String mobileNumber) {
         validateMobileNumber(mobileNumber);
-        checkOtpRateLimit(mobileNumber);
 
-        // Find existing OTP request
-        Optional<OtpRequest> existingOtp = otpRequestRepository.findLatestByMobileNumber(mobileNumber);
-
-        if (existingOtp.isPresent() && !existingOtp.get().isExpired()) {
-            // Reuse existing OTP
-            OtpRequest otpRequest = existingOtp.get();
-            otpService.sendOtp(mobileNumber, otpRequest.getOtpCode());
-            return otpRequest;
-        } else {
-            // Create new OTP
-            return sendOtp(mobileNumber);
-        }
+        return withDeliveryReserved(() -> {
+            checkOtpRateLimit(mobileNumber);
+
+            // Find existing OTP request
+            Optional<OtpRequest> existingOtp = otpRequestRepository.findLatestByMobileNumber(mobileNumber);
+
+            if (existingOtp.isPresent() && !existingOtp.get().isExpired()) {
+                // Reuse existing OTP
+                OtpRequest otpRequest = existingOtp.get();
+                otpService.sendOtp(mobileNumber, otpRequest.getOtpCode());
+                return otpRequest;
+            } else {
+                // Create new OTP; the rate limit was already charged above
+                return issueOtp(mobileNumber);
+            }
+        });
     }
 
     public AuthenticationResult verifyOtpAndLogin(String mobileNumber, String otpCode) {
         validateMobileNumber(mobileNumber);
 
-        Optional<OtpRequest> otpRequestOpt = otpRequestRepository.findByMobileNumberAndStatus(
-            mobileNumber, OtpRequest.OtpStatus.PENDING);
+        // Checks the code and records the attempt in one atomic step
+        OtpRequest.VerificationOutcome outcome = otpRequestRepository.verify(mobileNumber, otpCode);
 
-        if (otpRequestOpt.isEmpty()) {
-            throw new RuntimeException("No pending OTP found for this mobile number");
+        if (outcome == OtpRequest.VerificationOutcome.NOT_FOUND) {
+            throw OtpException.NOT_FOUND;
         }
 
-        OtpRequest otpRequest = otpRequestOpt.get();
-
-        if (otpRequest.isExpired()) {
-            otpRequest.setStatus(OtpRequest.OtpStatus.EXPIRED);
-            otpRequestRepository.save(otpRequest);
-            throw new RuntimeException("OTP has expired");
+        if (outcome == OtpRequest.VerificationOutcome.EXPIRED) {
+            throw OtpException.EXPIRED;
         }
 
-        if (!otpRequest.getOtpCode().equals(otpCode)) {
-            otpRequest.incrementAttempt();
-            otpRequestRepository.save(otpRequest);
-            throw new RuntimeException("Invalid OTP");
+        if (outcome == OtpRequest.VerificationOutcome.INVALID_CODE) {
+            throw OtpException.INVALID;
         }
 
-        // Mark OTP as verified
-        otpRequest.markAsVerified();
-        otpRequestRepository.save(otpRequest);
-
         // Get or create user
         User user = getOrCreateUser(mobileNumber);
 
@@ -110,20 +106,20 @@ public class AuthenticationService {
         Optional<RefreshToken> refreshTokenOpt = refreshTokenRepository.findByToken(refreshTokenStr);
 
         if (refreshTokenOpt.isEmpty()) {
-            throw new RuntimeException("Invalid refresh token");
+            throw TokenException.REFRESH_INVALID;
         }
 
         RefreshToken refreshToken = refreshTokenOpt.get();
 
         if (!refreshToken.isValid()) {
             refreshTokenRepository.deleteByToken(refreshTokenStr);
-            throw new RuntimeException("Refresh token is expired or revoked");
+            throw TokenException.REFRESH_EXPIRED;
         }
 
         Optional<User> userOpt = userRepository.findById(refreshToken.getUserId());
         if (userOpt.isEmpty()) {
             refreshTokenRepository.deleteByToken(refreshTokenStr);
-            throw new RuntimeException("User not found");
+            throw AuthException.USER_NOT_FOUND;
         }
 
         User user = userOpt.get();
@@ -135,58 +131,69 @@ public class AuthenticationService {
     }
 
     public void logout(String refreshTokenStr) {
-        Optional<RefreshToken> refreshTokenOpt = refreshTokenRepository.findByToken(refreshTokenStr);
-        if (refreshTokenOpt.isPresent()) {
-            RefreshToken refreshToken = refreshTokenOpt.get();
-            refreshToken.revoke();
-            refreshTokenRepository.save(refreshToken);
-        }
+        refreshTokenRepository.revokeByToken(refreshTokenStr);
     }
 
     public void logoutAllDevices(Long userId) {
         refreshTokenRepository.deleteByUserId(userId);
+        // Access tokens already handed out stop working on every node, not just at expiry
+        tokenRevocations.revokeAll(userId);
+        verifiedTokenCache.evictUser(userId);
+    }
+
+    /**
+     * Claims dispatcher room before anything is charged or saved, so a saturated
+     * dispatcher fails the request without costing the user a rate-limit slot or leaving
+     * a pending OTP behind. The claim is returned if the work fails before sending.
+     */
+    private OtpRequest withDeliveryReserved(Supplier<OtpRequest> work) {
+        otpService.reserveDelivery();
+        boolean sent = false;
+        try {
+            OtpRequest otpRequest = work.get();
+            sent = true;
+            return otpRequest;
+        } finally {
+            if (!sent) {
+                otpService.releaseDelivery();
+            }
+        }
+    }
+
+    private OtpRequest issueOtp(String mobileNumber) {
+        // Generate OTP (static 1234 for now)
+        String otpCode = "1234";
+
+        // Create new OTP request, expiring any existing pending one
+        OtpRequest otpRequest = new OtpRequest(mobileNumber, otpCode, OtpRequest.OtpType.LOGIN);
+        otpRequest = otpRequestRepository.replacePending(otpRequest);
+
+        // Send OTP (for now just log it)
+        otpService.sendOtp(mobileNumber, otpCode);
+
+        return otpRequest;
     }
 
     private void validateMobileNumber(String mobileNumber) {
         if (mobileNumber == null || mobileNumber.trim().isEmpty()) {
-            throw new IllegalArgumentException("Mobile number is required");
+            throw InvalidRequestException.MOBILE_NUMBER_REQUIRED;
         }
 
         // Basic mobile number validation (Indian format)
         String cleaned = mobileNumber.replaceAll("[^0-9]", "");
         if (cleaned.length() != 10 && !(cleaned.length() == 13 && cleaned.startsWith("91"))) {
-            throw new IllegalArgumentException("Invalid mobile number format");
+            throw InvalidRequestException.INVALID_MOBILE_NUMBER;
         }
     }
 
     private void checkOtpRateLimit(String mobileNumber) {
-        LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-        int recentOtpCount = otpRequestRepository.countByMobileNumberAndCreatedAtAfter(mobileNumber, oneHourAgo);
-
-        if (recentOtpCount >= 5) {
-            throw new RuntimeException("Too many OTP requests. Please try again later");
-        }
-    }
-
-    private void invalidateExistingOtps(String mobileNumber) {
-        Optional<OtpRequest> existingOtp = otpRequestRepository.findByMobileNumberAndStatus(
-            mobileNumber, OtpRequest.OtpStatus.PENDING);
-
-        if (existingOtp.isPresent()) {
-            OtpRequest otp = existingOtp.get();
-            otp.setStatus(OtpRequest.OtpStatus.EXPIRED);
-            otpRequestRepository.save(otp);
+        if (!otpRateLimiter.tryAcquire(mobileNumber)) {
+            throw OtpException.RATE_LIMITED;
         }
     }
 
     private User getOrCreateUser(String mobileNumber) {
-        Optional<User> existingUser = userRepository.findByPhoneNumber(mobileNumber);
-
-        if (existingUser.isPresent()) {
-            return existingUser.get();
-        }
-
-        // Create new user
+        // Insert-or-fetch in one statement; returning users get their existing row
         User newUser = new User();
         newUser.setPhoneNumber(mobileNumber);
         newUser.setRole(UserRole.CUSTOMER);
@@ -194,7 +201,7 @@ public class AuthenticationService {
         newUser.setCreatedAt(LocalDateTime.now());
         newUser.setUpdatedAt(LocalDateTime.now());
 
-        return userRepository.save(newUser);
+        return userRepository.upsertByPhoneNumber(newUser);
     }
 
     private void saveRefreshToken(String token, Long userId) {
@@ -0,0 +1,18 @@
+package com.evbooking.backend.usecase.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Fire-and-forget messages to every node, used to drop per-node cache entries when the
+ * data behind them changes. Delivery is best effort; anything relying on it must also
+ * expire on its own.
+ */
+public interface ClusterEventBus {
+
+    /**
+     * Sends a message to the subscribers of a channel on every node, this one included.
+     */
+    void publish(String channel, String message);
+
+    void subscribe(String channel, Consumer<String> listener);
+}
@@ -0,0 +1,204 @@
+package com.evbooking.backend.usecase.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the keys used to sign and verify JWTs. Keys are built once and looked up
+ * by the {@code kid} header, so several keys can stay valid while secrets rotate.
+ * The parser is immutable and shared by all threads.
+ *
+ * <p>The ring is fixed at startup, so every node holds the same keys as long as they
+ * share configuration. Rotation is rolling: first deploy the new secret everywhere under
+ * {@code previous-keys} so all nodes can verify it, then make it {@code secret-key} /
+ * {@code key-id} and move the old one into {@code previous-keys}, and drop the old one
+ * once the tokens it signed have expired.
+ *
+ * <p>With {@code spring.security.jwt.asymmetric.enabled} tokens are signed with an
+ * ES256 key whose public half is published as a JWKS, so other services can verify
+ * tokens locally. The HMAC keys stay in the ring to verify tokens issued earlier. The
+ * key pair must be configured: a key generated per node would make tokens verify only on
+ * the node that signed them, so that is only allowed for single-node development with
+ * {@code spring.security.jwt.asymmetric.allow-ephemeral}.
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private final Map<String, KeyEntry> keys;
+    private final KeyEntry activeKey;
+    private final KeyEntry legacyKey;
+    private final JwtParser parser;
+
+    public JwtKeyRing(@Value("${spring.security.jwt.secret-key}") String secretKey,
+                      @Value("${spring.security.jwt.key-id:primary}") String keyId,
+                      @Value("${spring.security.jwt.previous-keys:}") String previousKeys,
+                      @Value("${spring.security.jwt.asymmetric.enabled:false}") boolean asymmetric,
+                      @Value("${spring.security.jwt.asymmetric.key-id:ec-1}") String asymmetricKeyId,
+                      @Value("${spring.security.jwt.asymmetric.private-key:}") String privateKey,
+                      @Value("${spring.security.jwt.asymmetric.public-key:}") String publicKey,
+                      @Value("${spring.security.jwt.asymmetric.previous-public-keys:}") String previousPublicKeys,
+                      @Value("${spring.security.jwt.asymmetric.allow-ephemeral:false}") boolean allowEphemeral) {
+        Map<String, KeyEntry> initial = new LinkedHashMap<>();
+
+        // Format: kid1:secret1,kid2:secret2 - kept for verification only
+        parseKeyList(previousKeys, "previous-keys")
+            .forEach((previousId, secret) -> initial.put(previousId, hmacKey(previousId, secret)));
+
+        KeyEntry hmac = hmacKey(keyId, secretKey);
+        initial.put(keyId, hmac);
+        this.legacyKey = hmac;
+
+        if (asymmetric) {
+            parseKeyList(previousPublicKeys, "asymmetric.previous-public-keys")
+                .forEach((previousId, encoded) -> initial.put(previousId, ecVerificationKey(previousId, encoded)));
+
+            KeyEntry ec = ecKey(asymmetricKeyId, privateKey, publicKey, allowEphemeral);
+            initial.put(asymmetricKeyId, ec);
+            this.activeKey = ec;
+        } else {
+            this.activeKey = hmac;
+        }
+
+        this.keys = Collections.unmodifiableMap(initial);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KeyIdResolver())
+                .build();
+    }
+
+    public KeyEntry getActiveKey() {
+        return activeKey;
+    }
+
+    public JwtParser getParser() {
+        return parser;
+    }
+
+    public Map<String, KeyEntry> getKeys() {
+        return keys;
+    }
+
+    private static KeyEntry hmacKey(String keyId, String secret) {
+        Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return new KeyEntry(keyId, key, key, SignatureAlgorithm.forSigningKey(key));
+    }
+
+    private static KeyEntry ecKey(String keyId, String privateKey, String publicKey, boolean allowEphemeral) {
+        if (privateKey.isBlank() || publicKey.isBlank()) {
+            if (!allowEphemeral) {
+                throw new IllegalStateException("No EC key pair configured for kid=" + keyId
+                    + ": set spring.security.jwt.asymmetric.private-key and public-key");
+            }
+            logger.warn("No EC key pair configured for kid={}, generating an ephemeral one for this node only", keyId);
+            KeyPair pair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+            return new KeyEntry(keyId, pair.getPrivate(), pair.getPublic(), SignatureAlgorithm.ES256);
+        }
+
+        try {
+            KeyFactory factory = KeyFactory.getInstance("EC");
+            PrivateKey signing = factory.generatePrivate(new PKCS8EncodedKeySpec(decodeKey(privateKey)));
+            PublicKey verification = factory.generatePublic(new X509EncodedKeySpec(decodeKey(publicKey)));
+            return new KeyEntry(keyId, signing, verification, SignatureAlgorithm.ES256);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid EC key pair for kid=" + keyId, e);
+        }
+    }
+
+    private static KeyEntry ecVerificationKey(String keyId, String publicKey) {
+        try {
+            PublicKey verification = KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(decodeKey(publicKey)));
+            return new KeyEntry(keyId, null, verification, SignatureAlgorithm.ES256);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid EC public key for kid=" + keyId, e);
+        }
+    }
+
+    /**
+     * Accepts PEM or bare base64 DER (PKCS#8 for private keys, X.509 for public keys).
+     */
+    private static byte[] decodeKey(String encoded) {
+        String base64 = encoded
+                .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static Map<String, String> parseKeyList(String value, String property) {
+        Map<String, String> entries = new LinkedHashMap<>();
+        for (String pair : value.split(",")) {
+            String trimmed = pair.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("Invalid entry in spring.security.jwt." + property + ": expected kid:key");
+            }
+            entries.put(trimmed.substring(0, separator), trimmed.substring(separator + 1));
+        }
+        return entries;
+    }
+
+    private class KeyIdResolver extends SigningKeyResolverAdapter {
+        @Override
+        @SuppressWarnings("rawtypes")
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            String keyId = header.getKeyId();
+            // Tokens issued before key ids were introduced carry no kid
+            KeyEntry entry = keyId != null ? keys.get(keyId) : legacyKey;
+            if (entry == null) {
+                throw new UnsupportedJwtException("Unknown JWT key id: " + keyId);
+            }
+            return entry.getVerificationKey();
+        }
+    }
+
+    public static final class KeyEntry {
+        private final String keyId;
+        private final Key signingKey;
+        private final Key verificationKey;
+        private final SignatureAlgorithm algorithm;
+
+        public KeyEntry(String keyId, Key signingKey, Key verificationKey, SignatureAlgorithm algorithm) {
+            this.keyId = keyId;
+            this.signingKey = signingKey;
+            this.verificationKey = verificationKey;
+            this.algorithm = algorithm;
+        }
+
+        public String getKeyId() { return keyId; }
+        public Key getSigningKey() { return signingKey; }
+        public Key getVerificationKey() { return verificationKey; }
+        public SignatureAlgorithm getAlgorithm() { return algorithm; }
+
+        public boolean isAsymmetric() {
+            return algorithm.isEllipticCurve() || algorithm.isRsa();
+        }
+    }
+}
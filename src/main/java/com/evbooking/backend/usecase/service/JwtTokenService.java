@@ -1,19 +1,22 @@
 package com.evbooking.backend.usecase.service;
 
+import com.evbooking.backend.domain.model.AuthenticatedUser;
 import com.evbooking.backend.domain.model.User;
+import com.evbooking.backend.domain.model.UserRole;
+import com.evbooking.backend.domain.model.UserStatus;
+import com.evbooking.backend.usecase.exception.TokenException;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -21,15 +24,30 @@ public class JwtTokenService {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenService.class);
 
-    @Value("${spring.security.jwt.secret-key}")
-    private String secretKey;
-
     @Value("${spring.security.jwt.expiration:3600000}") // 1 hour default
     private long accessTokenExpiration;
 
+    // "full" embeds the user profile; "compact" carries only userId, role code and version
+    @Value("${spring.security.jwt.token-profile:full}")
+    private String tokenProfile;
+
+    private static final int COMPACT_TOKEN_VERSION = 2;
+
     private static final long REFRESH_TOKEN_EXPIRATION = 30L * 24 * 60 * 60 * 1000; // 30 days
 
+    private final JwtKeyRing keyRing;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtTokenService(JwtKeyRing keyRing, VerifiedTokenCache verifiedTokenCache) {
+        this.keyRing = keyRing;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
     public String generateAccessToken(User user) {
+        if ("compact".equalsIgnoreCase(tokenProfile)) {
+            return generateCompactAccessToken(user);
+        }
+
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", user.getId());
         claims.put("phoneNumber", user.getPhoneNumber());
@@ -51,6 +69,15 @@ public class JwtTokenService {
         return createToken(claims, user.getPhoneNumber(), accessTokenExpiration);
     }
 
+    private String generateCompactAccessToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("uid", user.getId());
+        claims.put("rl", user.getRole().getCode());
+        claims.put("v", COMPACT_TOKEN_VERSION);
+
+        return createToken(claims, String.valueOf(user.getId()), accessTokenExpiration);
+    }
+
     public String generateRefreshToken(User user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", user.getId());
@@ -63,14 +90,16 @@ public class JwtTokenService {
     private String createToken(Map<String, Object> claims, String subject, long expiration) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
+        JwtKeyRing.KeyEntry signingKey = keyRing.getActiveKey();
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.getKeyId())
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .setIssuer("kash-save-backend")
-                .signWith(getSigningKey())
+                .signWith(signingKey.getSigningKey(), signingKey.getAlgorithm())
                 .compact();
     }
 
@@ -80,7 +109,8 @@ public class JwtTokenService {
 
     public Long extractUserId(String token) {
         Claims claims = extractAllClaims(token);
-        return claims.get("userId", Long.class);
+        Long userId = claims.get("userId", Long.class);
+        return userId != null ? userId : claims.get("uid", Long.class);
     }
 
     public String extractPhoneNumber(String token) {
@@ -90,7 +120,11 @@ public class JwtTokenService {
 
     public String extractRole(String token) {
         Claims claims = extractAllClaims(token);
-        return claims.get("role", String.class);
+        String role = claims.get("role", String.class);
+        if (role == null && claims.get("rl") != null) {
+            return UserRole.fromCode(claims.get("rl", String.class)).name();
+        }
+        return role;
     }
 
     public Date extractExpiration(String token) {
@@ -104,25 +138,24 @@ public class JwtTokenService {
 
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parser()
-                    .setSigningKey(getSigningKey())
+            return keyRing.getParser()
                     .parseClaimsJws(token)
                     .getBody();
         } catch (ExpiredJwtException e) {
             logger.debug("JWT token is expired: {}", e.getMessage());
-            throw new RuntimeException("JWT token is expired");
+            throw TokenException.EXPIRED;
         } catch (UnsupportedJwtException e) {
             logger.debug("JWT token is unsupported: {}", e.getMessage());
-            throw new RuntimeException("JWT token is unsupported");
+            throw TokenException.UNSUPPORTED;
         } catch (MalformedJwtException e) {
             logger.debug("JWT token is malformed: {}", e.getMessage());
-            throw new RuntimeException("JWT token is malformed");
+            throw TokenException.MALFORMED;
         } catch (SecurityException e) {
             logger.debug("JWT signature validation failed: {}", e.getMessage());
-            throw new RuntimeException("JWT signature validation failed");
+            throw TokenException.SIGNATURE_INVALID;
         } catch (IllegalArgumentException e) {
             logger.debug("JWT token is invalid: {}", e.getMessage());
-            throw new RuntimeException("JWT token is invalid");
+            throw TokenException.INVALID;
         }
     }
 
@@ -147,17 +180,76 @@ public class JwtTokenService {
 
     public Boolean validateToken(String token) {
         try {
+            // The parser rejects expired tokens itself, so one pass is enough
             extractAllClaims(token);
-            return !isTokenExpired(token);
+            return true;
         } catch (Exception e) {
             logger.debug("Token validation failed: {}", e.getMessage());
             return false;
         }
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secretKey.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Verifies an access token with a single parse and returns its claims as an
+     * immutable principal. Refresh and client API tokens are not accepted here.
+     * Repeat presentations of the same token are served from the verified-token cache.
+     */
+    public Optional<AuthenticatedUser> verifyAccessToken(String token) {
+        return Optional.ofNullable(verifiedTokenCache.get(token, this::parseAccessToken));
+    }
+
+    private AuthenticatedUser parseAccessToken(String token) {
+        try {
+            return toAuthenticatedUser(extractAllClaims(token));
+        } catch (Exception e) {
+            logger.debug("Token validation failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private AuthenticatedUser toAuthenticatedUser(Claims claims) {
+        if (claims.get("tokenType") != null) {
+            return null;
+        }
+
+        // Both profiles are accepted so tokens issued before a profile switch stay valid
+        if (claims.get("v") != null) {
+            return toCompactAuthenticatedUser(claims);
+        }
+
+        Long userId = claims.get("userId", Long.class);
+        String role = claims.get("role", String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+
+        String status = claims.get("status", String.class);
+        return new AuthenticatedUser(
+            userId,
+            claims.get("phoneNumber", String.class),
+            UserRole.valueOf(role),
+            status != null ? UserStatus.valueOf(status) : null,
+            claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+            claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+
+    private AuthenticatedUser toCompactAuthenticatedUser(Claims claims) {
+        Long userId = claims.get("uid", Long.class);
+        String roleCode = claims.get("rl", String.class);
+        if (userId == null || roleCode == null) {
+            return null;
+        }
+
+        // Profile fields are not in the token; AuthenticatedUserResolver loads them when needed
+        return new AuthenticatedUser(
+            userId,
+            null,
+            UserRole.fromCode(roleCode),
+            null,
+            claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+            claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
     }
 
     public LocalDateTime getExpirationAsLocalDateTime(String token) {
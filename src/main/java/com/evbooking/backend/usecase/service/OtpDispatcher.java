@@ -0,0 +1,216 @@
+package com.evbooking.backend.usecase.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers OTP messages off the request thread. Messages go into a bounded queue
+ * drained by a fixed number of workers, which caps concurrent gateway calls. Failed
+ * deliveries are retried with exponential backoff; a full queue is reported to the
+ * caller immediately instead of blocking a Tomcat thread.
+ *
+ * <p>Room in the queue can be reserved ahead of the message, so a caller can find out
+ * the queue is full before it does work (charging a rate limit, saving an OTP) that
+ * would be wasted if the message could not be sent.
+ */
+@Component
+public class OtpDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OtpDispatcher.class);
+
+    private final SmsProvider smsProvider;
+    private final BlockingQueue<SmsMessage> queue = new LinkedBlockingQueue<>();
+    // Bounds the queue: a permit per queued or reserved message
+    private final Semaphore capacity;
+    private final int workerCount;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+
+    private ExecutorService workers;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+
+    public OtpDispatcher(SmsProvider smsProvider,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.otp.dispatch.queue-capacity:10000}") int queueCapacity,
+                         @Value("${app.otp.dispatch.workers:4}") int workerCount,
+                         @Value("${app.otp.dispatch.max-attempts:3}") int maxAttempts,
+                         @Value("${app.otp.dispatch.initial-backoff:1s}") Duration initialBackoff,
+                         @Value("${app.otp.dispatch.max-backoff:30s}") Duration maxBackoff) {
+        this.smsProvider = smsProvider;
+        this.capacity = new Semaphore(queueCapacity);
+        this.workerCount = workerCount;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        meterRegistry.gaugeCollectionSize("otp.dispatch.queue.size", List.of(), queue);
+        this.sentCounter = meterRegistry.counter("otp.dispatch.messages", "result", "sent");
+        this.retriedCounter = meterRegistry.counter("otp.dispatch.messages", "result", "retried");
+        this.failedCounter = meterRegistry.counter("otp.dispatch.messages", "result", "failed");
+        this.rejectedCounter = meterRegistry.counter("otp.dispatch.messages", "result", "rejected");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        workers = Executors.newFixedThreadPool(workerCount, namedThreads("otp-dispatch-"));
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(namedThreads("otp-dispatch-retry-"));
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::drainQueue);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+        if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("OTP dispatcher stopped with {} undelivered messages", queue.size());
+        }
+    }
+
+    /**
+     * Queues a message for delivery. Returns false without blocking when the queue is full.
+     */
+    public boolean dispatch(SmsMessage message) {
+        if (!tryReserve()) {
+            return false;
+        }
+        dispatchReserved(message);
+        return true;
+    }
+
+    /**
+     * Claims room for one message. Returns false without blocking when the queue is full;
+     * otherwise the caller must follow up with {@link #dispatchReserved} or {@link #cancelReservation}.
+     */
+    public boolean tryReserve() {
+        if (capacity.tryAcquire()) {
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    public void dispatchReserved(SmsMessage message) {
+        queue.add(message);
+    }
+
+    public void cancelReservation() {
+        capacity.release();
+    }
+
+    private void drainQueue() {
+        int batchSize = Math.max(1, smsProvider.maxBatchSize());
+        List<SmsMessage> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            try {
+                SmsMessage first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                if (batchSize > 1) {
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                capacity.release(batch.size());
+
+                if (batchSize > 1) {
+                    deliverBatch(batch);
+                } else {
+                    deliver(first);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(SmsMessage message) {
+        try {
+            smsProvider.send(message);
+            sentCounter.increment();
+        } catch (Exception e) {
+            logger.warn("SMS delivery attempt {} failed: {}", message.getAttempt(), e.getMessage());
+            scheduleRetry(message);
+        }
+    }
+
+    private void deliverBatch(List<SmsMessage> batch) {
+        try {
+            smsProvider.sendBatch(batch);
+            sentCounter.increment(batch.size());
+        } catch (Exception e) {
+            logger.warn("SMS batch of {} failed: {}", batch.size(), e.getMessage());
+            for (SmsMessage message : batch) {
+                scheduleRetry(message);
+            }
+        }
+    }
+
+    private void scheduleRetry(SmsMessage message) {
+        if (message.getAttempt() >= maxAttempts || !running) {
+            failedCounter.increment();
+            logger.error("Giving up on SMS after {} attempts", message.getAttempt());
+            return;
+        }
+
+        retriedCounter.increment();
+        long delay = Math.min(
+            initialBackoff.toMillis() << (message.getAttempt() - 1),
+            maxBackoff.toMillis());
+
+        retryScheduler.schedule(() -> {
+            if (!capacity.tryAcquire()) {
+                failedCounter.increment();
+                logger.error("Dropping SMS retry, dispatch queue is full");
+                return;
+            }
+            queue.add(message.nextAttempt());
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.evbooking.backend.usecase.service;
+
+import com.evbooking.backend.domain.repository.OtpRequestRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Per-mobile-number OTP budget ("5 per hour" by default) kept in a RateLimitBackend
+ * instead of counting otp_requests rows on every send. The database count is only
+ * used to seed a local backend for numbers it has not seen since the node started.
+ */
+@Component
+public class OtpRateLimiter {
+
+    private final RateLimitBackend backend;
+    private final OtpRequestRepository otpRequestRepository;
+    private final int maxRequests;
+    private final long windowMillis;
+    private final long startedAt;
+
+    public OtpRateLimiter(RateLimitBackend backend,
+                          OtpRequestRepository otpRequestRepository,
+                          @Value("${app.otp.rate-limit.max-requests:5}") int maxRequests,
+                          @Value("${app.otp.rate-limit.window:1h}") Duration window) {
+        this.backend = backend;
+        this.otpRequestRepository = otpRequestRepository;
+        this.maxRequests = maxRequests;
+        this.windowMillis = window.toMillis();
+        this.startedAt = System.currentTimeMillis();
+    }
+
+    public boolean tryAcquire(String mobileNumber) {
+        String key = normalize(mobileNumber);
+        long now = System.currentTimeMillis();
+
+        if (isColdStart(now) && !backend.isTracked(key)) {
+            // Seeding only happens once per number during the first window after startup
+            LocalDateTime windowStart = LocalDateTime.now().minusNanos(windowMillis * 1_000_000);
+            int recent = otpRequestRepository.countByMobileNumberAndCreatedAtAfter(key, windowStart);
+            backend.seed(key, recent, maxRequests, windowMillis, now);
+        }
+
+        return backend.tryAcquire(key, maxRequests, windowMillis, now);
+    }
+
+    private boolean isColdStart(long now) {
+        return !backend.isShared() && now - startedAt < windowMillis;
+    }
+
+    // Same number with or without the 91 country code shares one budget
+    static String normalize(String mobileNumber) {
+        String digits = mobileNumber.replaceAll("[^0-9]", "");
+        return digits.length() > 10 ? digits.substring(digits.length() - 10) : digits;
+    }
+}
@@ -1,5 +1,6 @@
 package com.evbooking.backend.usecase.service;
 
+import com.evbooking.backend.usecase.exception.OtpException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -9,26 +10,38 @@ public class OtpService {
 
     private static final Logger logger = LoggerFactory.getLogger(OtpService.class);
 
+    private final OtpDispatcher otpDispatcher;
+
+    public OtpService(OtpDispatcher otpDispatcher) {
+        this.otpDispatcher = otpDispatcher;
+    }
+
+    /**
+     * Claims room to send one OTP, failing fast when the dispatcher is saturated. Must be
+     * followed by {@link #sendOtp} or {@link #releaseDelivery}.
+     */
+    public void reserveDelivery() {
+        if (!otpDispatcher.tryReserve()) {
+            throw OtpException.SERVICE_BUSY;
+        }
+    }
+
+    public void releaseDelivery() {
+        otpDispatcher.cancelReservation();
+    }
+
+    /**
+     * Sends an OTP using the room claimed by {@link #reserveDelivery}.
+     */
     public void sendOtp(String mobileNumber, String otpCode) {
-        // For now, just log the OTP. In production, integrate with SMS service
         logger.info("Sending OTP to mobile number: {} | OTP: {}",
                    maskMobileNumber(mobileNumber), otpCode);
 
-        // TODO: Integrate with SMS service like Twilio, AWS SNS, or local SMS provider
-        // Example integration:
-        // smsProvider.sendSms(mobileNumber, "Your OTP is: " + otpCode + ". Valid for 5 minutes.");
+        // Delivery happens on dispatcher workers; the request thread only enqueues
+        SmsMessage message = new SmsMessage(mobileNumber,
+            "Your OTP is: " + otpCode + ". Valid for 5 minutes.");
 
-        simulateSmsSending();
-    }
-
-    private void simulateSmsSending() {
-        try {
-            // Simulate network delay
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.warn("SMS sending simulation interrupted");
-        }
+        otpDispatcher.dispatchReserved(message);
     }
 
     private String maskMobileNumber(String mobileNumber) {
@@ -50,4 +63,4 @@ public class OtpService {
     public boolean validateOtpFormat(String otp) {
         return otp != null && otp.matches("\\d{4}");
     }
-}
\ No newline at end of file
+}
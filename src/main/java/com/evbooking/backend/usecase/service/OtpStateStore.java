@@ -0,0 +1,37 @@
+package com.evbooking.backend.usecase.service;
+
+import com.evbooking.backend.domain.model.OtpRequest;
+
+import java.util.Optional;
+
+/**
+ * Short-lived home of the live OTP for each mobile number. Entries go once the OTP has
+ * expired; the database only receives an audit row once an OTP is finished with, and a
+ * pending OTP that lapses is audited as EXPIRED. OTPs handed out are copies; changing
+ * one does not change the store.
+ */
+public interface OtpStateStore {
+
+    Optional<OtpRequest> find(String mobileNumber);
+
+    /**
+     * Stores the OTP as the live one for its number until {@code expiresAt}, replacing
+     * any previous entry.
+     */
+    void put(OtpRequest otpRequest);
+
+    /**
+     * Stores the OTP as the live one for its number and returns the entry it displaced,
+     * marked EXPIRED, if that was still pending. Both happen in one atomic step.
+     */
+    Optional<OtpRequest> replace(OtpRequest otpRequest);
+
+    void remove(String mobileNumber);
+
+    /**
+     * Applies a verification attempt to the live OTP atomically and returns its state
+     * afterwards. An attempt on a lapsed OTP the store still holds marks it EXPIRED. OTPs
+     * that reach a terminal state are removed from the store.
+     */
+    Optional<OtpRequest> verify(String mobileNumber, String otpCode);
+}
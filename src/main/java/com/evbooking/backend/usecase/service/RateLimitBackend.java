@@ -0,0 +1,29 @@
+package com.evbooking.backend.usecase.service;
+
+/**
+ * Storage for sliding-window rate limits. The in-memory backend is per node; a shared
+ * backend lets every node enforce the same budget.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Records a hit for the key if fewer than {@code limit} hits fall inside the window
+     * ending at {@code nowMillis}. Returns false, without recording, when over the limit.
+     */
+    boolean tryAcquire(String key, int limit, long windowMillis, long nowMillis);
+
+    boolean isTracked(String key);
+
+    /**
+     * Pre-loads hits counted elsewhere (e.g. in the database) for a key this backend
+     * has no history for.
+     */
+    void seed(String key, int hits, int limit, long windowMillis, long nowMillis);
+
+    /**
+     * Shared backends keep their history across node restarts and never need seeding.
+     */
+    default boolean isShared() {
+        return false;
+    }
+}
@@ -0,0 +1,25 @@
+package com.evbooking.backend.usecase.service;
+
+public final class SmsMessage {
+    private final String mobileNumber;
+    private final String body;
+    private final int attempt;
+
+    public SmsMessage(String mobileNumber, String body) {
+        this(mobileNumber, body, 1);
+    }
+
+    private SmsMessage(String mobileNumber, String body, int attempt) {
+        this.mobileNumber = mobileNumber;
+        this.body = body;
+        this.attempt = attempt;
+    }
+
+    public String getMobileNumber() { return mobileNumber; }
+    public String getBody() { return body; }
+    public int getAttempt() { return attempt; }
+
+    public SmsMessage nextAttempt() {
+        return new SmsMessage(mobileNumber, body, attempt + 1);
+    }
+}
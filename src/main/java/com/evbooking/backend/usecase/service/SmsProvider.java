@@ -0,0 +1,26 @@
+package com.evbooking.backend.usecase.service;
+
+import java.util.List;
+
+/**
+ * Gateway that delivers SMS messages. Called only from OtpDispatcher worker threads,
+ * never on a request thread, so implementations may block on network I/O.
+ */
+public interface SmsProvider {
+
+    void send(SmsMessage message) throws Exception;
+
+    /**
+     * Sends several messages in one gateway call where the provider supports it.
+     * A failure is treated as a failure of the whole batch.
+     */
+    default void sendBatch(List<SmsMessage> messages) throws Exception {
+        for (SmsMessage message : messages) {
+            send(message);
+        }
+    }
+
+    default int maxBatchSize() {
+        return 1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.evbooking.backend.usecase.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digests of token strings. Digest instances are reused per thread since
+ * this runs on the request path.
+ */
+public final class TokenDigest {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private TokenDigest() {}
+
+    public static byte[] sha256(String token) {
+        // digest() resets the instance, so it is ready for the next call
+        return SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,101 @@
+package com.evbooking.backend.usecase.service;
+
+import com.evbooking.backend.domain.model.AuthenticatedUser;
+import com.evbooking.backend.domain.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-user "not before" instant for access tokens, held in memory so the check on every
+ * request is a map lookup. Revoking writes the cutoff to the users table and announces it
+ * on the {@link ClusterEventBus}; nodes also re-read recent cutoffs from the table at
+ * startup and once a minute, to cover messages they missed. An entry is only needed until
+ * every token issued before it has expired.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+    private static final String CHANNEL = "token-revocation";
+
+    private final UserRepository userRepository;
+    private final ClusterEventBus eventBus;
+    private final long accessTokenLifetimeMillis;
+    private final ConcurrentMap<Long, Long> notBeforeMillis = new ConcurrentHashMap<>();
+
+    public TokenRevocationRegistry(UserRepository userRepository,
+                                   ClusterEventBus eventBus,
+                                   @Value("${spring.security.jwt.expiration:3600000}") long accessTokenLifetimeMillis) {
+        this.userRepository = userRepository;
+        this.eventBus = eventBus;
+        this.accessTokenLifetimeMillis = accessTokenLifetimeMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        // Subscribe first so a revocation made while loading is not missed
+        eventBus.subscribe(CHANNEL, this::onMessage);
+        refresh();
+        logger.info("Loaded {} token revocations", notBeforeMillis.size());
+    }
+
+    /**
+     * Re-reads recent cutoffs from the database, so a missed bus message delays a
+     * revocation by at most one interval, and drops entries no live token can predate.
+     */
+    @Scheduled(initialDelayString = "${app.security.token-revocation.refresh-interval:60000}",
+               fixedDelayString = "${app.security.token-revocation.refresh-interval:60000}")
+    public void refresh() {
+        long horizon = System.currentTimeMillis() - accessTokenLifetimeMillis;
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(horizon), ZoneId.systemDefault());
+        userRepository.findTokenRevocationsAfter(since).forEach((userId, cutoff) ->
+            apply(userId, cutoff.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        notBeforeMillis.values().removeIf(cutoff -> cutoff < horizon);
+    }
+
+    /**
+     * Rejects every access token already issued to the user, on every node.
+     */
+    public void revokeAll(Long userId) {
+        // iat has whole-second precision; a token from the same second as the revocation stays valid
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        userRepository.revokeTokensIssuedBefore(userId, LocalDateTime.ofInstant(cutoff, ZoneId.systemDefault()));
+        apply(userId, cutoff.toEpochMilli());
+        eventBus.publish(CHANNEL, userId + ":" + cutoff.toEpochMilli());
+    }
+
+    public boolean isRevoked(AuthenticatedUser user) {
+        Long cutoff = notBeforeMillis.get(user.getUserId());
+        if (cutoff == null) {
+            return false;
+        }
+        // Tokens without iat cannot be placed in time, so a revoked user's are all rejected
+        return user.getIssuedAt() == null || user.getIssuedAt().toEpochMilli() < cutoff;
+    }
+
+    private void onMessage(String message) {
+        int separator = message.indexOf(':');
+        try {
+            apply(Long.valueOf(message.substring(0, separator)), Long.parseLong(message.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            logger.warn("Ignoring malformed token revocation: {}", message);
+        }
+    }
+
+    private void apply(Long userId, long cutoffMillis) {
+        // Messages can arrive out of order; the latest cutoff wins
+        notBeforeMillis.merge(userId, cutoffMillis, Math::max);
+    }
+}
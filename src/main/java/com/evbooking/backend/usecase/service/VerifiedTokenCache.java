@@ -0,0 +1,154 @@
+package com.evbooking.backend.usecase.service;
+
+import com.evbooking.backend.domain.model.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Optional in-process cache of verified access tokens, keyed by the token's SHA-256
+ * digest so the raw token is never held as a key. Every entry expires no later than
+ * the token's own exp claim, and the cache is bounded by size.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final boolean enabled;
+    private final Clock clock;
+    private final Cache<DigestKey, AuthenticatedUser> cache;
+
+    public VerifiedTokenCache(@Value("${app.security.token-cache.enabled:true}") boolean enabled,
+                              @Value("${app.security.token-cache.maximum-size:10000}") long maximumSize,
+                              MeterRegistry meterRegistry) {
+        this(enabled, maximumSize, meterRegistry, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    // The clock reads exp claims, the ticker drives Caffeine; tests move both together
+    VerifiedTokenCache(boolean enabled, long maximumSize, MeterRegistry meterRegistry, Clock clock, Ticker ticker) {
+        this.enabled = enabled;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(clock))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "verifiedTokens");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached principal for a token, or runs the verifier on a miss. A null
+     * result from the verifier (invalid token) is not cached.
+     */
+    public AuthenticatedUser get(String token, Function<String, AuthenticatedUser> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+
+        DigestKey key = DigestKey.of(token);
+        AuthenticatedUser user = cache.get(key, k -> verifier.apply(token));
+
+        // Expiry is enforced by the cache, but it is evaluated lazily
+        if (user != null && user.isExpired(clock.instant())) {
+            cache.invalidate(key);
+            return null;
+        }
+        return user;
+    }
+
+    /**
+     * Returns the principal for a token only if it was already verified and is still
+     * cached. Never parses the token, so it is safe to call before authentication.
+     */
+    public AuthenticatedUser peek(String token) {
+        if (!enabled) {
+            return null;
+        }
+        AuthenticatedUser user = cache.getIfPresent(DigestKey.of(token));
+        return user != null && !user.isExpired(clock.instant()) ? user : null;
+    }
+
+    public void evictUser(Long userId) {
+        if (enabled) {
+            cache.asMap().values().removeIf(user -> userId.equals(user.getUserId()));
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<DigestKey, AuthenticatedUser> {
+        private final Clock clock;
+
+        TokenExpiry(Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(DigestKey key, AuthenticatedUser user, long currentTime) {
+            if (user.getExpiresAt() == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(clock.instant(), user.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(DigestKey key, AuthenticatedUser user, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, user, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(DigestKey key, AuthenticatedUser user, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * First 128 bits of the token digest, held as two longs.
+     */
+    private static final class DigestKey {
+        private final long high;
+        private final long low;
+
+        private DigestKey(long high, long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        static DigestKey of(String token) {
+            byte[] digest = TokenDigest.sha256(token);
+            long high = 0;
+            long low = 0;
+            for (int i = 0; i < 8; i++) {
+                high = (high << 8) | (digest[i] & 0xFF);
+                low = (low << 8) | (digest[i + 8] & 0xFF);
+            }
+            return new DigestKey(high, low);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DigestKey other)) return false;
+            return high == other.high && low == other.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(high ^ low);
+        }
+    }
+}
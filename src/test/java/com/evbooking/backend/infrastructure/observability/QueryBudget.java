@@ -0,0 +1,47 @@
+package com.evbooking.backend.infrastructure.observability;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * MockMvc matchers that fail a test when a request exceeds its declared JDBC budget,
+ * e.g. {@code .andExpect(QueryBudget.statements(2))}. Reads the {@link QueryStats} left
+ * on the request by {@link QueryMetricsFilter}, so the filter must be in the chain.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static ResultMatcher statements(int max) {
+        return result -> {
+            QueryStats stats = statsOf(result);
+            if (stats.getStatements() > max) {
+                throw new AssertionError(describe(result)
+                    + " ran " + stats.getStatements() + " statements, budget is " + max + " (" + stats + ")");
+            }
+        };
+    }
+
+    public static ResultMatcher rows(long max) {
+        return result -> {
+            QueryStats stats = statsOf(result);
+            if (stats.getRows() > max) {
+                throw new AssertionError(describe(result)
+                    + " read " + stats.getRows() + " rows, budget is " + max + " (" + stats + ")");
+            }
+        };
+    }
+
+    private static QueryStats statsOf(MvcResult result) {
+        Object stats = result.getRequest().getAttribute(QueryStats.REQUEST_ATTRIBUTE);
+        if (!(stats instanceof QueryStats queryStats)) {
+            throw new AssertionError("No query stats recorded; is QueryMetricsFilter registered?");
+        }
+        return queryStats;
+    }
+
+    private static String describe(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+    }
+}
@@ -0,0 +1,200 @@
+package com.evbooking.backend.infrastructure.otp;
+
+import com.evbooking.backend.domain.model.OtpRequest;
+import com.evbooking.backend.infrastructure.repository.OtpAuditWriter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The shared store against a real Redis, since verification and expiry are Lua scripts
+ * decoding the entry with cjson and keeping it in step with the expiry index.
+ */
+@Testcontainers
+class RedisOtpStateStoreTest {
+
+    private static final String MOBILE = "9876543210";
+    private static final String CODE = "123456";
+    private static final String KEY = "otp:live:" + MOBILE;
+    private static final String EXPIRY_INDEX = "otp:expiry";
+    private static final Duration GRACE = Duration.ofMinutes(10);
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private OtpAuditWriter auditWriter;
+    private RedisOtpStateStore store;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        // Same Jackson setup as the application's ObjectMapper
+        auditWriter = mock(OtpAuditWriter.class);
+        store = new RedisOtpStateStore(redisTemplate, Jackson2ObjectMapperBuilder.json().build(), auditWriter, GRACE);
+    }
+
+    @Test
+    void correctCodeVerifiesAndRemovesTheEntry() {
+        store.put(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN));
+
+        Optional<OtpRequest> result = store.verify(MOBILE, CODE);
+
+        assertThat(result).get().satisfies(otp -> {
+            assertThat(otp.getStatus()).isEqualTo(OtpRequest.OtpStatus.VERIFIED);
+            assertThat(otp.getVerifiedAt()).isNotNull();
+            assertThat(otp.getType()).isEqualTo(OtpRequest.OtpType.LOGIN);
+        });
+        assertThat(redisTemplate.hasKey(KEY)).isFalse();
+        assertThat(redisTemplate.opsForZSet().score(EXPIRY_INDEX, MOBILE)).isNull();
+        assertThat(store.verify(MOBILE, CODE)).isEmpty();
+    }
+
+    @Test
+    void entryOutlivesTheOtpByTheGracePeriod() {
+        store.put(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN));
+
+        // The OTP itself lasts five minutes
+        long minimumTtl = Duration.ofMinutes(5).plus(GRACE).minusSeconds(5).toSeconds();
+        assertThat(redisTemplate.getExpire(KEY)).isGreaterThan(minimumTtl);
+        assertThat(redisTemplate.opsForZSet().score(EXPIRY_INDEX, MOBILE)).isNotNull();
+    }
+
+    @Test
+    void lapsedOtpIsReportedExpiredEvenWithTheRightCode() {
+        store.put(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN));
+        lapse();
+
+        assertThat(store.verify(MOBILE, CODE)).get()
+            .extracting(OtpRequest::getStatus).isEqualTo(OtpRequest.OtpStatus.EXPIRED);
+        assertThat(redisTemplate.hasKey(KEY)).isFalse();
+        assertThat(redisTemplate.opsForZSet().score(EXPIRY_INDEX, MOBILE)).isNull();
+    }
+
+    @Test
+    void sweepAuditsLapsedPendingOtpsOnce() {
+        store.put(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN));
+        lapse();
+
+        store.expireLapsed();
+        store.expireLapsed();
+
+        verify(auditWriter).enqueue(argThat(otp ->
+            otp.getStatus() == OtpRequest.OtpStatus.EXPIRED && MOBILE.equals(otp.getMobileNumber())));
+        assertThat(redisTemplate.hasKey(KEY)).isFalse();
+        assertThat(redisTemplate.opsForZSet().size(EXPIRY_INDEX)).isZero();
+    }
+
+    @Test
+    void sweepLeavesLiveOtpsAlone() {
+        store.put(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN));
+
+        store.expireLapsed();
+
+        verify(auditWriter, never()).enqueue(any());
+        assertThat(store.find(MOBILE)).isPresent();
+    }
+
+    @Test
+    void replaceReturnsThePendingOtpItDisplacedAsExpired() {
+        store.put(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN));
+
+        Optional<OtpRequest> displaced = store.replace(new OtpRequest(MOBILE, "654321", OtpRequest.OtpType.LOGIN));
+
+        assertThat(displaced).get().satisfies(otp -> {
+            assertThat(otp.getStatus()).isEqualTo(OtpRequest.OtpStatus.EXPIRED);
+            assertThat(otp.getOtpCode()).isEqualTo(CODE);
+        });
+        assertThat(store.find(MOBILE)).get().extracting(OtpRequest::getOtpCode).isEqualTo("654321");
+        assertThat(redisTemplate.opsForZSet().score(EXPIRY_INDEX, MOBILE)).isNotNull();
+        assertThat(store.replace(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN))).get()
+            .extracting(OtpRequest::getOtpCode).isEqualTo("654321");
+    }
+
+    @Test
+    void replaceWithNothingLiveReturnsEmpty() {
+        assertThat(store.replace(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN))).isEmpty();
+        assertThat(store.find(MOBILE)).isPresent();
+    }
+
+    @Test
+    void wrongCodeCountsAnAttemptAndKeepsTheTtl() {
+        store.put(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN));
+        Long ttlBefore = redisTemplate.getExpire(KEY);
+
+        Optional<OtpRequest> result = store.verify(MOBILE, "000000");
+
+        assertThat(result).get().satisfies(otp -> {
+            assertThat(otp.getStatus()).isEqualTo(OtpRequest.OtpStatus.PENDING);
+            assertThat(otp.getAttemptCount()).isEqualTo(1);
+        });
+        assertThat(store.find(MOBILE)).get().extracting(OtpRequest::getAttemptCount).isEqualTo(1);
+        // A plain SET would have cleared the expiry and left the OTP live forever
+        assertThat(redisTemplate.getExpire(KEY)).isPositive().isLessThanOrEqualTo(ttlBefore);
+    }
+
+    @Test
+    void lastAllowedAttemptFailsAndRemovesTheEntry() {
+        store.put(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN));
+
+        for (int i = 1; i < OtpRequest.MAX_ATTEMPTS; i++) {
+            assertThat(store.verify(MOBILE, "000000")).get()
+                .extracting(OtpRequest::getStatus).isEqualTo(OtpRequest.OtpStatus.PENDING);
+        }
+
+        assertThat(store.verify(MOBILE, "000000")).get()
+            .extracting(OtpRequest::getStatus).isEqualTo(OtpRequest.OtpStatus.FAILED);
+        assertThat(redisTemplate.hasKey(KEY)).isFalse();
+        assertThat(store.verify(MOBILE, CODE)).isEmpty();
+    }
+
+    @Test
+    void missingEntryIsEmpty() {
+        assertThat(store.verify(MOBILE, CODE)).isEmpty();
+    }
+
+    @Test
+    void unreadableEntryIsDiscarded() {
+        redisTemplate.opsForValue().set(KEY, "not json");
+
+        assertThat(store.find(MOBILE)).isEmpty();
+        assertThat(redisTemplate.hasKey(KEY)).isFalse();
+    }
+
+    // Moves the OTP's expiry into the past while its entry is still within the grace period
+    private static void lapse() {
+        redisTemplate.opsForZSet().add(EXPIRY_INDEX, MOBILE, 0);
+    }
+}
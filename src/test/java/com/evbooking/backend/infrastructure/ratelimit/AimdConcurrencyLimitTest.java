@@ -0,0 +1,63 @@
+package com.evbooking.backend.infrastructure.ratelimit;
+
+import com.evbooking.backend.infrastructure.ratelimit.AimdConcurrencyLimit.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdConcurrencyLimitTest {
+
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void lowPriorityIsShedBeforeHighPriority() {
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(4, 1, 100, TARGET, 0.5, 0.5, 0);
+
+        assertThat(limit.tryAcquire(Priority.LOW)).isTrue();
+        assertThat(limit.tryAcquire(Priority.LOW)).isTrue();
+        assertThat(limit.tryAcquire(Priority.LOW)).isFalse();
+        assertThat(limit.tryAcquire(Priority.HIGH)).isTrue();
+        assertThat(limit.tryAcquire(Priority.HIGH)).isTrue();
+        assertThat(limit.tryAcquire(Priority.HIGH)).isFalse();
+    }
+
+    @Test
+    void slowRequestsCutTheLimitOncePerTarget() {
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(20, 4, 100, TARGET, 0.5, 1.0, 0);
+
+        limit.tryAcquire(Priority.HIGH);
+        limit.tryAcquire(Priority.HIGH);
+        limit.release(TARGET * 2, false, TARGET);
+        limit.release(TARGET * 2, false, TARGET + 1);
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void poolQueueingCutsTheLimitEvenWhenFast() {
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(6, 4, 100, TARGET, 0.5, 1.0, 0);
+
+        limit.tryAcquire(Priority.HIGH);
+        limit.release(FAST, true, TARGET);
+
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void growsOnlyWhileTheLimitIsInUse() {
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(4, 1, 100, TARGET, 0.5, 1.0, 0);
+
+        limit.tryAcquire(Priority.HIGH);
+        limit.release(FAST, false, 0);
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        limit.tryAcquire(Priority.HIGH);
+        limit.tryAcquire(Priority.HIGH);
+        limit.release(FAST, false, 0);
+        assertThat(limit.getLimit()).isEqualTo(4.25);
+    }
+}
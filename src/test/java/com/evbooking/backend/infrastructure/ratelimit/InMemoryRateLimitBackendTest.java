@@ -0,0 +1,56 @@
+package com.evbooking.backend.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimitBackendTest {
+
+    private static final int LIMIT = 5;
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final String KEY = "9876543210";
+
+    private final InMemoryRateLimitBackend backend = new InMemoryRateLimitBackend();
+
+    @Test
+    void allowsFivePerHour() {
+        for (int i = 0; i < LIMIT; i++) {
+            assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, i * 1000L)).isTrue();
+        }
+
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, HOUR / 2)).isFalse();
+        assertThat(backend.tryAcquire("9123456789", LIMIT, HOUR, HOUR / 2)).isTrue();
+    }
+
+    @Test
+    void slotsFreeUpOneByOneAsTheWindowSlides() {
+        for (int i = 0; i < LIMIT; i++) {
+            backend.tryAcquire(KEY, LIMIT, HOUR, i * 1000L);
+        }
+
+        // Only the first hit has left the window
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, HOUR)).isTrue();
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, HOUR)).isFalse();
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, HOUR + 1000)).isTrue();
+    }
+
+    @Test
+    void seededHitsCountAgainstTheLimit() {
+        backend.seed(KEY, 3, LIMIT, HOUR, 0);
+
+        assertThat(backend.isTracked(KEY)).isTrue();
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, 1)).isTrue();
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, 2)).isTrue();
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, 3)).isFalse();
+    }
+
+    @Test
+    void seedBeyondTheLimitIsCapped() {
+        backend.seed(KEY, 50, LIMIT, HOUR, 0);
+
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, HOUR - 1)).isFalse();
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, HOUR)).isTrue();
+    }
+}
@@ -0,0 +1,85 @@
+package com.evbooking.backend.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The shared backend against a real Redis, since the window logic lives in a Lua script.
+ */
+@Testcontainers
+class RedisRateLimitBackendTest {
+
+    private static final int LIMIT = 5;
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final String KEY = "9876543210";
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RedisRateLimitBackend backend;
+    private long now;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        backend = new RedisRateLimitBackend(redisTemplate);
+        // The key's TTL runs on Redis time, so hit times stay close to it
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void allowsFivePerHour() {
+        for (int i = 0; i < LIMIT; i++) {
+            assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, now + i)).isTrue();
+        }
+
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, now + 10)).isFalse();
+        assertThat(backend.isTracked(KEY)).isTrue();
+    }
+
+    @Test
+    void slotsFreeUpAsTheWindowSlides() {
+        for (int i = 0; i < LIMIT; i++) {
+            backend.tryAcquire(KEY, LIMIT, HOUR, now + i * 1000L);
+        }
+
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, now + HOUR)).isTrue();
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, now + HOUR)).isFalse();
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, now + HOUR + 1000)).isTrue();
+    }
+
+    @Test
+    void seededHitsCountAgainstTheLimit() {
+        backend.seed(KEY, 4, LIMIT, HOUR, now);
+
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, now + 1)).isTrue();
+        assertThat(backend.tryAcquire(KEY, LIMIT, HOUR, now + 2)).isFalse();
+    }
+}
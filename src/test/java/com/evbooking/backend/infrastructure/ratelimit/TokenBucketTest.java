@@ -0,0 +1,43 @@
+package com.evbooking.backend.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void allowsBurstThenRejectsWithWaitTime() {
+        TokenBucket bucket = new TokenBucket(3, 60, MINUTE, 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+
+        long wait = bucket.tryConsume(0);
+        assertThat(wait).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(1, 60, MINUTE, 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(TimeUnit.MILLISECONDS.toNanos(500))).isPositive();
+        assertThat(bucket.tryConsume(TimeUnit.SECONDS.toNanos(1))).isZero();
+    }
+
+    @Test
+    void idleTimeDoesNotGrowBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 60, MINUTE, 0);
+        long later = TimeUnit.MINUTES.toNanos(10);
+
+        assertThat(bucket.tryConsume(later)).isZero();
+        assertThat(bucket.tryConsume(later)).isZero();
+        assertThat(bucket.tryConsume(later)).isPositive();
+    }
+}
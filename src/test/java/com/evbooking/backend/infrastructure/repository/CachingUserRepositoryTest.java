@@ -0,0 +1,142 @@
+package com.evbooking.backend.infrastructure.repository;
+
+import com.evbooking.backend.domain.model.User;
+import com.evbooking.backend.domain.model.UserRole;
+import com.evbooking.backend.domain.model.UserStatus;
+import com.evbooking.backend.infrastructure.cluster.LocalClusterEventBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingUserRepositoryTest {
+
+    private static final String PHONE = "9876543210";
+
+    private UserRepositoryImpl delegate;
+    private LocalClusterEventBus eventBus;
+    private CachingUserRepository repository;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(UserRepositoryImpl.class);
+        eventBus = new LocalClusterEventBus();
+        repository = new CachingUserRepository(delegate, eventBus, mock(StringRedisTemplate.class),
+            new ObjectMapper(), new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), false, Duration.ofMinutes(10));
+
+        user = new User();
+        user.setId(42L);
+        user.setPhoneNumber(PHONE);
+        user.setRole(UserRole.CUSTOMER);
+        user.setStatus(UserStatus.ACTIVE);
+        when(delegate.findById(42L)).thenReturn(Optional.of(user));
+        when(delegate.findByPhoneNumber(PHONE)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void repeatedLookupsHitTheDatabaseOnce() {
+        repository.findByPhoneNumber(PHONE);
+
+        assertThat(repository.findById(42L)).hasValueSatisfying(u -> assertThat(u.getPhoneNumber()).isEqualTo(PHONE));
+        assertThat(repository.findByPhoneNumber(PHONE)).isPresent();
+        verify(delegate, times(1)).findByPhoneNumber(PHONE);
+        verify(delegate, never()).findById(any());
+    }
+
+    @Test
+    void returningUserSkipsUpsert() {
+        repository.findById(42L);
+
+        assertThat(repository.upsertByPhoneNumber(user).getId()).isEqualTo(42L);
+        verify(delegate, never()).upsertByPhoneNumber(any());
+    }
+
+    @Test
+    void callersCannotChangeCachedUser() {
+        repository.findById(42L).get().setFirstName("Changed");
+
+        assertThat(repository.findById(42L)).hasValueSatisfying(u -> assertThat(u.getFirstName()).isNull());
+    }
+
+    @Test
+    void saveEvicts() {
+        repository.findById(42L);
+        when(delegate.save(any())).thenReturn(user);
+
+        repository.save(user);
+        repository.findById(42L);
+
+        verify(delegate, times(2)).findById(42L);
+    }
+
+    @Test
+    void savingAUserWithoutAPasswordKeepsTheStoredOne() {
+        when(delegate.findPasswordById(42L)).thenReturn(Optional.of("$2a$10$hash"));
+        when(delegate.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        User stripped = repository.findById(42L).orElseThrow();
+        stripped.setFirstName("Asha");
+
+        repository.save(stripped);
+
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(delegate).save(saved.capture());
+        assertThat(saved.getValue().getPassword()).isEqualTo("$2a$10$hash");
+        assertThat(saved.getValue().getFirstName()).isEqualTo("Asha");
+    }
+
+    @Test
+    void savingAUserWithAPasswordSkipsTheLookup() {
+        when(delegate.save(any())).thenReturn(user);
+        user.setPassword("$2a$10$new");
+
+        repository.save(user);
+
+        verify(delegate, never()).findPasswordById(any());
+    }
+
+    @Test
+    void evictionFromAnotherNodeDropsLocalEntry() {
+        repository.findById(42L);
+
+        eventBus.publish("user-cache.evict", "42");
+        repository.findById(42L);
+
+        verify(delegate, times(2)).findById(42L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sharedTierNeverHoldsThePassword() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        CachingUserRepository sharedRepository = new CachingUserRepository(delegate, eventBus, redisTemplate,
+            Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), true, Duration.ofMinutes(10));
+        user.setPassword("$2a$10$hash");
+
+        sharedRepository.findById(42L);
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(values).set(eq("user:id:42"), json.capture(), eq(Duration.ofMinutes(10)));
+        assertThat(json.getValue()).contains(PHONE).doesNotContain("password").doesNotContain("$2a$10$hash");
+        // The local tier keeps it
+        assertThat(sharedRepository.findById(42L)).hasValueSatisfying(u -> assertThat(u.getPassword()).isEqualTo("$2a$10$hash"));
+    }
+}
@@ -0,0 +1,199 @@
+package com.evbooking.backend.infrastructure.repository;
+
+import com.evbooking.backend.domain.model.OtpRequest;
+import com.evbooking.backend.domain.model.OtpRequest.VerificationOutcome;
+import com.evbooking.backend.infrastructure.entity.OtpRequestEntity;
+import com.evbooking.backend.infrastructure.mapper.OtpRequestEntityMapperImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The single-statement verify and the rate limiter's seed count against real Postgres,
+ * since their rules, race safety and index use all live in the SQL.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OtpRequestRepositoryImpl.class, OtpRequestEntityMapperImpl.class})
+@Testcontainers
+class OtpRequestRepositoryImplTest {
+
+    private static final String MOBILE = "9876543210";
+    private static final String CODE = "123456";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private OtpRequestRepositoryImpl repository;
+
+    @Autowired
+    private JpaOtpRequestRepository jpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        // The concurrent test commits its rows
+        jpaRepository.deleteAll();
+    }
+
+    @Test
+    void correctCodeVerifies() {
+        Long id = repository.save(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN)).getId();
+
+        assertThat(repository.verify(MOBILE, CODE)).isEqualTo(VerificationOutcome.VERIFIED);
+
+        OtpRequestEntity stored = reload(id);
+        assertThat(stored.getStatus()).isEqualTo(OtpRequest.OtpStatus.VERIFIED);
+        assertThat(stored.getVerifiedAt()).isNotNull();
+        assertThat(stored.getAttemptCount()).isZero();
+    }
+
+    @Test
+    void wrongCodeCountsAnAttemptAndStaysPending() {
+        Long id = repository.save(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN)).getId();
+
+        assertThat(repository.verify(MOBILE, "000000")).isEqualTo(VerificationOutcome.INVALID_CODE);
+
+        OtpRequestEntity stored = reload(id);
+        assertThat(stored.getStatus()).isEqualTo(OtpRequest.OtpStatus.PENDING);
+        assertThat(stored.getAttemptCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredOtpIsExpiredEvenWithTheRightCode() {
+        OtpRequest otp = new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN);
+        otp.setCreatedAt(LocalDateTime.now().minusMinutes(10));
+        otp.setExpiresAt(LocalDateTime.now().minusMinutes(5));
+        Long id = repository.save(otp).getId();
+
+        assertThat(repository.verify(MOBILE, CODE)).isEqualTo(VerificationOutcome.EXPIRED);
+
+        assertThat(reload(id).getStatus()).isEqualTo(OtpRequest.OtpStatus.EXPIRED);
+        assertThat(repository.verify(MOBILE, CODE)).isEqualTo(VerificationOutcome.NOT_FOUND);
+    }
+
+    @Test
+    void lastAllowedAttemptFailsTheOtp() {
+        Long id = repository.save(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN)).getId();
+
+        for (int i = 0; i < OtpRequest.MAX_ATTEMPTS; i++) {
+            assertThat(repository.verify(MOBILE, "000000")).isEqualTo(VerificationOutcome.INVALID_CODE);
+        }
+
+        OtpRequestEntity stored = reload(id);
+        assertThat(stored.getStatus()).isEqualTo(OtpRequest.OtpStatus.FAILED);
+        assertThat(stored.getAttemptCount()).isEqualTo(OtpRequest.MAX_ATTEMPTS);
+        // A failed OTP cannot be rescued by the right code
+        assertThat(repository.verify(MOBILE, CODE)).isEqualTo(VerificationOutcome.NOT_FOUND);
+    }
+
+    @Test
+    void replacingExpiresThePreviousPendingOtp() {
+        Long first = repository.save(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN)).getId();
+
+        Long second = repository.replacePending(new OtpRequest(MOBILE, "654321", OtpRequest.OtpType.LOGIN)).getId();
+
+        assertThat(reload(first).getStatus()).isEqualTo(OtpRequest.OtpStatus.EXPIRED);
+        assertThat(reload(second).getStatus()).isEqualTo(OtpRequest.OtpStatus.PENDING);
+        assertThat(repository.verify(MOBILE, CODE)).isEqualTo(VerificationOutcome.INVALID_CODE);
+    }
+
+    @Test
+    void noPendingOtpIsNotFound() {
+        assertThat(repository.verify(MOBILE, CODE)).isEqualTo(VerificationOutcome.NOT_FOUND);
+    }
+
+    @Test
+    void otpOlderThanTheLookbackIsNotFound() {
+        OtpRequest otp = new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN);
+        otp.setCreatedAt(LocalDateTime.now().minusHours(2));
+        repository.save(otp);
+
+        assertThat(repository.verify(MOBILE, CODE)).isEqualTo(VerificationOutcome.NOT_FOUND);
+    }
+
+    @Test
+    void coldStartCountMatchesFormattedNumbers() {
+        repository.save(new OtpRequest("+91 98765-43210", CODE, OtpRequest.OtpType.LOGIN));
+        repository.save(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN));
+        repository.save(new OtpRequest("9123456789", CODE, OtpRequest.OtpType.LOGIN));
+        entityManager.flush();
+
+        assertThat(repository.countByMobileNumberAndCreatedAtAfter(MOBILE, LocalDateTime.now().minusHours(1)))
+            .isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void coldStartCountUsesTheNumberDigitsIndex() {
+        // Test tables are tiny, so the planner would pick a sequential scan on its own
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+
+        List<String> plan = entityManager.createNativeQuery(
+                "EXPLAIN SELECT COUNT(*) FROM otp_requests WHERE created_at > now() - interval '1 hour' " +
+                "AND right(regexp_replace(mobile_number, '[^0-9]', '', 'g'), 10) = '9876543210'")
+            .getResultList();
+
+        assertThat(String.join("\n", plan)).contains("idx_otp_requests_number_digits_created");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentVerifiesSucceedOnlyOnce() throws Exception {
+        Long id = repository.save(new OtpRequest(MOBILE, CODE, OtpRequest.OtpType.LOGIN)).getId();
+
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<VerificationOutcome> attempt = () -> {
+            start.await();
+            return repository.verify(MOBILE, CODE);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<VerificationOutcome>> results = List.of(executor.submit(attempt), executor.submit(attempt));
+            start.countDown();
+
+            assertThat(List.of(results.get(0).get(), results.get(1).get()))
+                .containsExactlyInAnyOrder(VerificationOutcome.VERIFIED, VerificationOutcome.NOT_FOUND);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(jpaRepository.findById(id)).get()
+            .extracting(OtpRequestEntity::getStatus).isEqualTo(OtpRequest.OtpStatus.VERIFIED);
+    }
+
+    private OtpRequestEntity reload(Long id) {
+        entityManager.clear();
+        return jpaRepository.findById(id).orElseThrow();
+    }
+}
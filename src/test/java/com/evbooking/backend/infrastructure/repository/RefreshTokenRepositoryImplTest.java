@@ -0,0 +1,105 @@
+package com.evbooking.backend.infrastructure.repository;
+
+import com.evbooking.backend.domain.model.RefreshToken;
+import com.evbooking.backend.domain.model.UserRole;
+import com.evbooking.backend.domain.model.UserStatus;
+import com.evbooking.backend.infrastructure.entity.UserEntity;
+import com.evbooking.backend.infrastructure.mapper.RefreshTokenEntityMapperImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Session deletes must stay single statements however many tokens a user has.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RefreshTokenRepositoryImpl.class, RefreshTokenEntityMapperImpl.class})
+@Testcontainers
+class RefreshTokenRepositoryImplTest {
+
+    private static final int TOKENS_PER_USER = 25;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private RefreshTokenRepositoryImpl repository;
+
+    @Autowired
+    private JpaUserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        UserEntity user = new UserEntity();
+        user.setPhoneNumber("9876543210");
+        user.setRole(UserRole.CUSTOMER);
+        user.setStatus(UserStatus.ACTIVE);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        userId = userRepository.save(user).getId();
+
+        for (int i = 0; i < TOKENS_PER_USER; i++) {
+            repository.save(new RefreshToken("refresh-token-" + i, userId, LocalDateTime.now().plusDays(30)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void deleteByUserIdIsOneStatement() {
+        repository.deleteByUserId(userId);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(repository.findByToken("refresh-token-0")).isEmpty();
+    }
+
+    @Test
+    void deleteByTokenIsOneStatement() {
+        repository.deleteByToken("refresh-token-3");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(repository.findByToken("refresh-token-3")).isEmpty();
+        assertThat(repository.findByToken("refresh-token-4")).isPresent();
+    }
+
+    @Test
+    void revokeByTokenIsOneStatement() {
+        assertThat(repository.revokeByToken("refresh-token-5")).isTrue();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(repository.findByToken("refresh-token-5"))
+            .hasValueSatisfying(token -> assertThat(token.isRevoked()).isTrue());
+    }
+}
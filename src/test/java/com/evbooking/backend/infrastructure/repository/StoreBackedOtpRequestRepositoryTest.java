@@ -0,0 +1,121 @@
+package com.evbooking.backend.infrastructure.repository;
+
+import com.evbooking.backend.domain.model.OtpRequest;
+import com.evbooking.backend.infrastructure.otp.InMemoryOtpStateStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class StoreBackedOtpRequestRepositoryTest {
+
+    private static final String MOBILE = "9876543210";
+
+    private OtpAuditWriter auditWriter;
+    private OtpRequestRepositoryImpl databaseRepository;
+    private StoreBackedOtpRequestRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        auditWriter = mock(OtpAuditWriter.class);
+        databaseRepository = mock(OtpRequestRepositoryImpl.class);
+        repository = new StoreBackedOtpRequestRepository(
+            new InMemoryOtpStateStore(auditWriter, 100), auditWriter, databaseRepository);
+    }
+
+    @Test
+    void pendingOtpIsServedFromStoreWithoutTouchingDatabase() {
+        OtpRequest otp = new OtpRequest(MOBILE, "1234", OtpRequest.OtpType.LOGIN);
+        repository.save(otp);
+
+        assertThat(repository.findByMobileNumberAndStatus(MOBILE, OtpRequest.OtpStatus.PENDING)).get()
+            .usingRecursiveComparison().isEqualTo(otp);
+        assertThat(repository.findLatestByMobileNumber(MOBILE)).get()
+            .usingRecursiveComparison().isEqualTo(otp);
+        verify(auditWriter, never()).enqueue(any());
+        verifyNoInteractions(databaseRepository);
+    }
+
+    @Test
+    void verifiedOtpLeavesStoreAndIsAudited() {
+        OtpRequest otp = new OtpRequest(MOBILE, "1234", OtpRequest.OtpType.LOGIN);
+        repository.save(otp);
+
+        otp.markAsVerified();
+        repository.save(otp);
+
+        assertThat(repository.findByMobileNumberAndStatus(MOBILE, OtpRequest.OtpStatus.PENDING)).isEmpty();
+        verify(auditWriter).enqueue(otp);
+    }
+
+    @Test
+    void failedAttemptsStayPendingUntilLimit() {
+        OtpRequest otp = new OtpRequest(MOBILE, "1234", OtpRequest.OtpType.LOGIN);
+        repository.save(otp);
+
+        otp.incrementAttempt();
+        repository.save(otp);
+
+        assertThat(repository.findByMobileNumberAndStatus(MOBILE, OtpRequest.OtpStatus.PENDING))
+            .hasValueSatisfying(live -> assertThat(live.getAttemptCount()).isEqualTo(1));
+        verify(auditWriter, never()).enqueue(any());
+    }
+
+    @Test
+    void replacingExpiresAndAuditsThePendingOtp() {
+        OtpRequest first = new OtpRequest(MOBILE, "1234", OtpRequest.OtpType.LOGIN);
+        repository.save(first);
+
+        OtpRequest second = new OtpRequest(MOBILE, "5678", OtpRequest.OtpType.LOGIN);
+        repository.replacePending(second);
+
+        verify(auditWriter).enqueue(argThat(otp ->
+            otp.getStatus() == OtpRequest.OtpStatus.EXPIRED && "1234".equals(otp.getOtpCode())));
+        assertThat(repository.findLatestByMobileNumber(MOBILE)).get()
+            .extracting(OtpRequest::getOtpCode).isEqualTo("5678");
+        assertThat(repository.verify(MOBILE, "1234")).isEqualTo(OtpRequest.VerificationOutcome.INVALID_CODE);
+    }
+
+    @Test
+    void replacingWithNothingPendingAuditsNothing() {
+        repository.replacePending(new OtpRequest(MOBILE, "1234", OtpRequest.OtpType.LOGIN));
+
+        verify(auditWriter, never()).enqueue(any());
+        assertThat(repository.findLatestByMobileNumber(MOBILE)).isPresent();
+    }
+
+    @Test
+    void changingAReturnedOtpDoesNotChangeTheStore() {
+        repository.save(new OtpRequest(MOBILE, "1234", OtpRequest.OtpType.LOGIN));
+
+        repository.findLatestByMobileNumber(MOBILE).orElseThrow().setStatus(OtpRequest.OtpStatus.EXPIRED);
+
+        assertThat(repository.verify(MOBILE, "1234")).isEqualTo(OtpRequest.VerificationOutcome.VERIFIED);
+    }
+
+    @Test
+    void verifyWithCorrectCodeCompletesOtpOnce() {
+        repository.save(new OtpRequest(MOBILE, "1234", OtpRequest.OtpType.LOGIN));
+
+        assertThat(repository.verify(MOBILE, "1234")).isEqualTo(OtpRequest.VerificationOutcome.VERIFIED);
+        assertThat(repository.verify(MOBILE, "1234")).isEqualTo(OtpRequest.VerificationOutcome.NOT_FOUND);
+        verify(auditWriter).enqueue(any());
+    }
+
+    @Test
+    void verifyWithWrongCodeFailsAfterMaxAttempts() {
+        repository.save(new OtpRequest(MOBILE, "1234", OtpRequest.OtpType.LOGIN));
+
+        for (int i = 0; i < OtpRequest.MAX_ATTEMPTS; i++) {
+            assertThat(repository.verify(MOBILE, "0000")).isEqualTo(OtpRequest.VerificationOutcome.INVALID_CODE);
+        }
+
+        assertThat(repository.verify(MOBILE, "1234")).isEqualTo(OtpRequest.VerificationOutcome.NOT_FOUND);
+    }
+}
@@ -0,0 +1,147 @@
+package com.evbooking.backend.infrastructure.repository;
+
+import com.evbooking.backend.domain.model.User;
+import com.evbooking.backend.domain.model.UserRole;
+import com.evbooking.backend.domain.model.UserStatus;
+import com.evbooking.backend.infrastructure.entity.UserEntity;
+import com.evbooking.backend.infrastructure.mapper.UserEntityMapperImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * First login's insert-or-fetch against real Postgres, since the conflict handling lives
+ * in the SQL.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UserRepositoryImpl.class, UserEntityMapperImpl.class})
+@Testcontainers
+class UserRepositoryImplTest {
+
+    private static final String PHONE = "9876543210";
+    private static final int CONCURRENT_LOGINS = 8;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private UserRepositoryImpl repository;
+
+    @Autowired
+    private JpaUserRepository jpaUserRepository;
+
+    @AfterEach
+    void tearDown() {
+        // The concurrent test commits its rows
+        jpaUserRepository.deleteAll();
+    }
+
+    @Test
+    void firstLoginInsertsTheUser() {
+        User user = repository.upsertByPhoneNumber(newUser(PHONE));
+
+        assertThat(user.getId()).isNotNull();
+        assertThat(user.getPhoneNumber()).isEqualTo(PHONE);
+        assertThat(user.getRole()).isEqualTo(UserRole.CUSTOMER);
+        assertThat(user.getStatus()).isEqualTo(UserStatus.ACTIVE);
+        assertThat(repository.findByPhoneNumber(PHONE)).get().extracting(User::getId).isEqualTo(user.getId());
+    }
+
+    @Test
+    void returningUserGetsTheExistingRowUnchanged() {
+        UserEntity existing = new UserEntity();
+        existing.setPhoneNumber(PHONE);
+        existing.setFirstName("Asha");
+        existing.setRole(UserRole.ADMIN);
+        existing.setStatus(UserStatus.ACTIVE);
+        existing.setCreatedAt(LocalDateTime.now().minusDays(30));
+        existing.setUpdatedAt(LocalDateTime.now().minusDays(30));
+        Long id = jpaUserRepository.saveAndFlush(existing).getId();
+
+        User user = repository.upsertByPhoneNumber(newUser(PHONE));
+
+        assertThat(user.getId()).isEqualTo(id);
+        assertThat(user.getFirstName()).isEqualTo("Asha");
+        assertThat(user.getRole()).isEqualTo(UserRole.ADMIN);
+        assertThat(jpaUserRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void firstLoginsDrawConsecutiveIdsAndReturningLoginsDrawNone() {
+        Long first = repository.upsertByPhoneNumber(newUser(PHONE)).getId();
+        repository.upsertByPhoneNumber(newUser(PHONE));
+        Long second = repository.upsertByPhoneNumber(newUser("9123456789")).getId();
+
+        // A column-default nextval would have moved on by a whole 50-id block
+        assertThat(second).isEqualTo(first + 1);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentFirstLoginsGetTheSameUser() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Long> login = () -> {
+            start.await();
+            return repository.upsertByPhoneNumber(newUser(PHONE)).getId();
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_LOGINS);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_LOGINS; i++) {
+                results.add(executor.submit(login));
+            }
+            start.countDown();
+
+            // Future.get rethrows a unique violation from any login
+            Set<Long> ids = new HashSet<>();
+            for (Future<Long> result : results) {
+                ids.add(result.get());
+            }
+            assertThat(ids).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(jpaUserRepository.count()).isEqualTo(1);
+    }
+
+    private static User newUser(String phoneNumber) {
+        User user = new User();
+        user.setPhoneNumber(phoneNumber);
+        user.setRole(UserRole.CUSTOMER);
+        user.setStatus(UserStatus.ACTIVE);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return user;
+    }
+}
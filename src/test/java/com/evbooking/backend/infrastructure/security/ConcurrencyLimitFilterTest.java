@@ -0,0 +1,122 @@
+package com.evbooking.backend.infrastructure.security;
+
+import com.evbooking.backend.infrastructure.web.ApiResponseWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // A limit of two: one for low priority requests, both for high priority ones
+        filter = newFilter(true);
+    }
+
+    @Test
+    void lowPriorityIsShedWhileItsShareIsInUse() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[2];
+        FilterChain holdSlot = (request, response) -> {
+            nested[0] = perform(filter, authRequest("/send-otp"));
+            nested[1] = perform(filter, authRequest("/verify-otp"));
+        };
+
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(authRequest("/send-otp"), outer, holdSlot);
+
+        assertThat(outer.getStatus()).isEqualTo(200);
+        assertThat(nested[0].getStatus()).isEqualTo(503);
+        assertThat(nested[0].getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(objectMapper.readTree(nested[0].getContentAsByteArray()).get("code").asText())
+            .isEqualTo("SERVICE_OVERLOADED");
+        // Finishing a login may use the whole limit
+        assertThat(nested[1].getStatus()).isEqualTo(200);
+
+        assertThat(meterRegistry.get("http.concurrency.requests")
+            .tags("result", "rejected", "priority", "low").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.concurrency.requests")
+            .tags("result", "allowed", "priority", "high").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void slotIsReleasedWhenTheRequestFails() {
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(authRequest("/send-otp"), new MockHttpServletResponse(), failing))
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get("http.concurrency.in_flight").gauge().value()).isZero();
+        assertThat(perform(filter, authRequest("/send-otp")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void otherPathsAreNotLimited() throws Exception {
+        FilterChain holdSlot = (request, response) ->
+            assertThat(perform(filter, request("/api/customer/profile")).getStatus()).isEqualTo(200);
+
+        filter.doFilter(authRequest("/send-otp"), new MockHttpServletResponse(), holdSlot);
+        filter.doFilter(request("/api/customer/profile"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(meterRegistry.get("http.concurrency.in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void disabledFilterPassesEverythingThrough() throws Exception {
+        ConcurrencyLimitFilter disabled = newFilter(false);
+        FilterChain holdSlot = (request, response) -> {
+            assertThat(perform(disabled, authRequest("/send-otp")).getStatus()).isEqualTo(200);
+            assertThat(perform(disabled, authRequest("/send-otp")).getStatus()).isEqualTo(200);
+        };
+
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        disabled.doFilter(authRequest("/send-otp"), outer, holdSlot);
+
+        assertThat(outer.getStatus()).isEqualTo(200);
+    }
+
+    private ConcurrencyLimitFilter newFilter(boolean enabled) {
+        return new ConcurrencyLimitFilter(mock(DataSource.class), new ApiResponseWriter(objectMapper), meterRegistry,
+            enabled, 2, 1, 10, Duration.ofSeconds(5), 0.9, 0.5);
+    }
+
+    private static MockHttpServletResponse perform(ConcurrencyLimitFilter target, MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            target.doFilter(request, response, new MockFilterChain());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest authRequest(String endpoint) {
+        return request("/api/auth" + endpoint);
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContextPath("/api");
+        return request;
+    }
+}
@@ -0,0 +1,59 @@
+package com.evbooking.backend.infrastructure.security;
+
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Filter order in the chain Spring Security actually builds: cheap rejections first, and
+ * nothing ahead of the limiters parses a token.
+ */
+@SpringBootTest(properties = "app.otp.store.type=memory")
+@Testcontainers
+class SecurityConfigTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private SecurityFilterChain filterChain;
+
+    @Test
+    void limitersRunBeforeTokenParsing() {
+        List<Filter> filters = filterChain.getFilters();
+
+        int rateLimiting = indexOf(filters, RateLimitingFilter.class);
+        int concurrencyLimit = indexOf(filters, ConcurrencyLimitFilter.class);
+        int jwtAuthentication = indexOf(filters, JwtAuthenticationFilter.class);
+
+        assertThat(rateLimiting).isLessThan(concurrencyLimit);
+        assertThat(concurrencyLimit).isLessThan(jwtAuthentication);
+    }
+
+    private static int indexOf(List<Filter> filters, Class<? extends Filter> type) {
+        for (int i = 0; i < filters.size(); i++) {
+            if (type.isInstance(filters.get(i))) {
+                return i;
+            }
+        }
+        throw new AssertionError(type.getSimpleName() + " is not in the security filter chain");
+    }
+}
@@ -0,0 +1,106 @@
+package com.evbooking.backend.presentation.controller;
+
+import com.evbooking.backend.infrastructure.web.ApiResponseWriter;
+import com.evbooking.backend.usecase.exception.OtpException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ApiExceptionHandlerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ApiExceptionHandler handler = new ApiExceptionHandler(new ApiResponseWriter(objectMapper));
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new EchoController())
+        .setControllerAdvice(handler)
+        .build();
+
+    @Test
+    void authFailureKeepsStatusAndMessage() throws Exception {
+        ResponseEntity<byte[]> response = handler.handleAuthException(OtpException.INVALID);
+        JsonNode body = objectMapper.readTree(response.getBody());
+
+        assertThat(response.getStatusCode().value()).isEqualTo(400);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(body.get("success").asBoolean()).isFalse();
+        assertThat(body.get("error").asText()).isEqualTo("Invalid OTP");
+        assertThat(body.get("code").asText()).isEqualTo("OTP_INVALID");
+    }
+
+    @Test
+    void unexpectedFailureDoesNotLeakItsMessage() throws Exception {
+        ResponseEntity<byte[]> response = handler.handleUnexpected(new IllegalStateException("pool exhausted"));
+        JsonNode body = objectMapper.readTree(response.getBody());
+
+        assertThat(response.getStatusCode().value()).isEqualTo(500);
+        assertThat(body.get("code").asText()).isEqualTo("INTERNAL_ERROR");
+        assertThat(body.get("error").asText()).doesNotContain("pool");
+    }
+
+    @Test
+    void sharedExceptionsCarryNoStackTrace() {
+        assertThat(OtpException.INVALID.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void unknownPathIsNotFound() throws Exception {
+        mockMvc.perform(get("/missing"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.code").value("NOT_FOUND"));
+    }
+
+    @Test
+    void wrongMethodIsNotAllowedAndListsTheAllowedOnes() throws Exception {
+        mockMvc.perform(post("/echo"))
+            .andExpect(status().isMethodNotAllowed())
+            .andExpect(header().string(HttpHeaders.ALLOW, containsString("GET")))
+            .andExpect(jsonPath("$.code").value("METHOD_NOT_ALLOWED"));
+    }
+
+    @Test
+    void unsupportedContentTypeIsRejected() throws Exception {
+        mockMvc.perform(post("/echo-body").contentType(MediaType.TEXT_PLAIN).content("hello"))
+            .andExpect(status().isUnsupportedMediaType())
+            .andExpect(jsonPath("$.code").value("UNSUPPORTED_MEDIA_TYPE"));
+    }
+
+    @Test
+    void missingParameterIsABadRequest() throws Exception {
+        mockMvc.perform(get("/echo"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("VALIDATION_FAILED"));
+    }
+
+    @RestController
+    static class EchoController {
+
+        @GetMapping("/echo")
+        String echo(@RequestParam String value) {
+            return value;
+        }
+
+        @PostMapping(path = "/echo-body", consumes = MediaType.APPLICATION_JSON_VALUE)
+        Map<String, String> echoBody(@RequestBody Map<String, String> body) {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.evbooking.backend.presentation.controller;
+
+import com.evbooking.backend.infrastructure.observability.QueryBudget;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Declared JDBC budgets for the login flow, with the default in-memory OTP store.
+ * Audit rows are written by a background flush and are not charged to any request.
+ */
+@SpringBootTest(properties = "app.otp.store.type=memory")
+@AutoConfigureMockMvc
+@Testcontainers
+class AuthControllerQueryBudgetTest {
+
+    private static final String CLIENT_TOKEN = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void loginFlowStaysWithinQueryBudget() throws Exception {
+        String mobile = "9876543210";
+
+        // Rate-limit seed count on the first send after startup
+        mockMvc.perform(authPost("/send-otp", Map.of("mobileNumber", mobile)))
+            .andExpect(status().isOk())
+            .andExpect(QueryBudget.statements(1))
+            .andExpect(QueryBudget.rows(1));
+
+        // Live OTP and rate limit are both in memory now
+        mockMvc.perform(authPost("/resend-otp", Map.of("mobileNumber", mobile)))
+            .andExpect(status().isOk())
+            .andExpect(QueryBudget.statements(0));
+
+        // User upsert, session delete, refresh token id and insert
+        MvcResult login = mockMvc.perform(authPost("/verify-otp", Map.of("mobileNumber", mobile, "otpCode", "1234")))
+            .andExpect(status().isOk())
+            .andExpect(QueryBudget.statements(4))
+            .andReturn();
+
+        String refreshToken = objectMapper.readTree(login.getResponse().getContentAsString())
+            .path("data").path("refreshToken").asText();
+
+        // Token lookup only; the user was cached at login
+        mockMvc.perform(authPost("/refresh-token", Map.of("refreshToken", refreshToken)))
+            .andExpect(status().isOk())
+            .andExpect(QueryBudget.statements(1))
+            .andExpect(QueryBudget.rows(1));
+    }
+
+    private MockHttpServletRequestBuilder authPost(String path, Map<String, String> body) throws Exception {
+        return post("/api/auth" + path)
+            .contextPath("/api")
+            .header("Authorization", CLIENT_TOKEN)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(body));
+    }
+}
@@ -0,0 +1,71 @@
+package com.evbooking.backend.usecase.service;
+
+import com.evbooking.backend.domain.model.AuthenticatedUser;
+import com.evbooking.backend.domain.model.User;
+import com.evbooking.backend.domain.model.UserRole;
+import com.evbooking.backend.domain.model.UserStatus;
+import com.evbooking.backend.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthenticatedUserResolverTest {
+
+    private static final Instant ISSUED = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Instant EXPIRES = ISSUED.plusSeconds(1800);
+
+    private UserRepository userRepository;
+    private AuthenticatedUserResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        resolver = new AuthenticatedUserResolver(userRepository);
+    }
+
+    @Test
+    void fullTokenPrincipalIsReturnedWithoutLookup() {
+        AuthenticatedUser principal =
+            new AuthenticatedUser(42L, "9876543210", UserRole.CUSTOMER, UserStatus.ACTIVE, ISSUED, EXPIRES);
+
+        assertThat(resolver.withProfile(principal)).containsSame(principal);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void compactTokenPrincipalIsCompletedFromTheUser() {
+        User user = new User();
+        user.setId(42L);
+        user.setPhoneNumber("9876543210");
+        user.setStatus(UserStatus.SUSPENDED);
+        when(userRepository.findById(42L)).thenReturn(Optional.of(user));
+
+        AuthenticatedUser principal = new AuthenticatedUser(42L, null, UserRole.CUSTOMER, null, ISSUED, EXPIRES);
+
+        assertThat(resolver.withProfile(principal)).hasValueSatisfying(resolved -> {
+            assertThat(resolved.hasProfile()).isTrue();
+            assertThat(resolved.getPhoneNumber()).isEqualTo("9876543210");
+            assertThat(resolved.getStatus()).isEqualTo(UserStatus.SUSPENDED);
+            // The token stays authoritative for role and lifetime
+            assertThat(resolved.getRole()).isEqualTo(UserRole.CUSTOMER);
+            assertThat(resolved.getExpiresAt()).isEqualTo(EXPIRES);
+        });
+    }
+
+    @Test
+    void deletedUserResolvesToEmpty() {
+        when(userRepository.findById(42L)).thenReturn(Optional.empty());
+
+        assertThat(resolver.withProfile(new AuthenticatedUser(42L, null, UserRole.CUSTOMER, null, ISSUED, EXPIRES)))
+            .isEmpty();
+    }
+}
@@ -0,0 +1,82 @@
+package com.evbooking.backend.usecase.service;
+
+import com.evbooking.backend.domain.model.OtpRequest;
+import com.evbooking.backend.domain.repository.OtpRequestRepository;
+import com.evbooking.backend.domain.repository.RefreshTokenRepository;
+import com.evbooking.backend.domain.repository.UserRepository;
+import com.evbooking.backend.usecase.exception.OtpException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthenticationServiceTest {
+
+    private static final String MOBILE = "9876543210";
+
+    private OtpRequestRepository otpRequestRepository;
+    private OtpDispatcher dispatcher;
+    private OtpRateLimiter rateLimiter;
+    private AuthenticationService service;
+
+    @BeforeEach
+    void setUp() {
+        otpRequestRepository = mock(OtpRequestRepository.class);
+        dispatcher = mock(OtpDispatcher.class);
+        rateLimiter = mock(OtpRateLimiter.class);
+        service = new AuthenticationService(mock(UserRepository.class), otpRequestRepository,
+            mock(RefreshTokenRepository.class), new OtpService(dispatcher), mock(JwtTokenService.class),
+            mock(VerifiedTokenCache.class), rateLimiter, mock(TokenRevocationRegistry.class));
+    }
+
+    @Test
+    void busyDispatcherChargesNothingAndSavesNothing() {
+        when(dispatcher.tryReserve()).thenReturn(false);
+
+        assertThatThrownBy(() -> service.sendOtp(MOBILE)).isSameAs(OtpException.SERVICE_BUSY);
+
+        verify(rateLimiter, never()).tryAcquire(anyString());
+        verify(otpRequestRepository, never()).replacePending(any());
+    }
+
+    @Test
+    void rateLimitedRequestReturnsItsReservation() {
+        when(dispatcher.tryReserve()).thenReturn(true);
+        when(rateLimiter.tryAcquire(MOBILE)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.sendOtp(MOBILE)).isSameAs(OtpException.RATE_LIMITED);
+
+        verify(dispatcher).cancelReservation();
+        verify(otpRequestRepository, never()).replacePending(any());
+    }
+
+    @Test
+    void sentOtpKeepsItsReservation() {
+        when(dispatcher.tryReserve()).thenReturn(true);
+        when(rateLimiter.tryAcquire(MOBILE)).thenReturn(true);
+        when(otpRequestRepository.replacePending(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.sendOtp(MOBILE);
+
+        verify(dispatcher).dispatchReserved(any());
+        verify(dispatcher, never()).cancelReservation();
+    }
+
+    @Test
+    void failedSaveReturnsItsReservation() {
+        when(dispatcher.tryReserve()).thenReturn(true);
+        when(rateLimiter.tryAcquire(MOBILE)).thenReturn(true);
+        when(otpRequestRepository.replacePending(any(OtpRequest.class))).thenThrow(new IllegalStateException("database down"));
+
+        assertThatThrownBy(() -> service.sendOtp(MOBILE)).isInstanceOf(IllegalStateException.class);
+
+        verify(dispatcher).cancelReservation();
+        verify(dispatcher, never()).dispatchReserved(any());
+    }
+}
@@ -0,0 +1,84 @@
+package com.evbooking.backend.usecase.service;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    private static final String OLD_SECRET = "old-secret-key-that-is-long-enough-for-hmac-sha-signing-0123456789";
+    private static final String NEW_SECRET = "new-secret-key-that-is-long-enough-for-hmac-sha-signing-0123456789";
+
+    @Test
+    void signsWithConfiguredKeyId() {
+        JwtKeyRing ring = hmacRing("k2", NEW_SECRET, "");
+
+        assertThat(ring.getActiveKey().getKeyId()).isEqualTo("k2");
+        assertThat(ring.getParser().parseClaimsJws(sign(ring)).getHeader().getKeyId()).isEqualTo("k2");
+    }
+
+    @Test
+    void signsWithEcKeyWhenAsymmetricButKeepsHmacForVerification() {
+        JwtKeyRing ring = new JwtKeyRing(NEW_SECRET, "k2", "", true, "ec-1", "", "", "", true);
+
+        assertThat(ring.getActiveKey().getKeyId()).isEqualTo("ec-1");
+        assertThat(ring.getActiveKey().getAlgorithm()).isEqualTo(SignatureAlgorithm.ES256);
+        assertThat(ring.getKeys()).containsKeys("k2", "ec-1");
+    }
+
+    @Test
+    void missingEcKeyPairFailsUnlessEphemeralKeysAreAllowed() {
+        assertThatThrownBy(() -> new JwtKeyRing(NEW_SECRET, "k2", "", true, "ec-1", "", "", "", false))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("ec-1");
+    }
+
+    @Test
+    void previousKeyStillVerifiesDuringRotation() {
+        String token = sign(hmacRing("k1", OLD_SECRET, ""));
+
+        JwtKeyRing rotated = hmacRing("k2", NEW_SECRET, "k1:" + OLD_SECRET);
+
+        assertThat(rotated.getParser().parseClaimsJws(token).getBody().getSubject()).isEqualTo("9876543210");
+    }
+
+    @Test
+    void retiredKeyIsRejected() {
+        String token = sign(hmacRing("k1", OLD_SECRET, ""));
+
+        JwtKeyRing retired = hmacRing("k2", NEW_SECRET, "");
+
+        assertThatThrownBy(() -> retired.getParser().parseClaimsJws(token))
+            .isInstanceOf(UnsupportedJwtException.class);
+    }
+
+    @Test
+    void tokenWithoutKeyIdUsesConfiguredSecret() {
+        JwtKeyRing ring = hmacRing("k2", NEW_SECRET, "k1:" + OLD_SECRET);
+        JwtKeyRing.KeyEntry key = ring.getActiveKey();
+        String legacyToken = Jwts.builder()
+            .setSubject("9876543210")
+            .signWith(key.getSigningKey(), key.getAlgorithm())
+            .compact();
+
+        assertThat(ring.getParser().parseClaimsJws(legacyToken).getBody().getSubject()).isEqualTo("9876543210");
+    }
+
+    private static JwtKeyRing hmacRing(String keyId, String secret, String previousKeys) {
+        return new JwtKeyRing(secret, keyId, previousKeys, false, "ec-1", "", "", "", false);
+    }
+
+    private static String sign(JwtKeyRing ring) {
+        JwtKeyRing.KeyEntry key = ring.getActiveKey();
+        return Jwts.builder()
+            .setHeaderParam(JwsHeader.KEY_ID, key.getKeyId())
+            .setSubject("9876543210")
+            .signWith(key.getSigningKey(), key.getAlgorithm())
+            .compact();
+    }
+}
@@ -0,0 +1,33 @@
+package com.evbooking.backend.usecase.service;
+
+import com.evbooking.backend.domain.model.User;
+import com.evbooking.backend.domain.model.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Builds token services outside Spring. Shared by the unit tests and the JMH
+ * benchmarks (src/jmh sees the test classes), so both exercise the same setup.
+ */
+public final class JwtTestFixtures {
+
+    public static final String SECRET = "test-secret-key-that-is-long-enough-for-hmac-sha-512-signing-0123";
+
+    private JwtTestFixtures() {}
+
+    public static JwtTokenService tokenService(String profile, boolean tokenCache) {
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, "primary", "", false, "ec-1", "", "", "", false);
+        VerifiedTokenCache cache = new VerifiedTokenCache(tokenCache, 10_000, new SimpleMeterRegistry());
+        JwtTokenService service = new JwtTokenService(keyRing, cache);
+        ReflectionTestUtils.setField(service, "accessTokenExpiration", 1_800_000L);
+        ReflectionTestUtils.setField(service, "tokenProfile", profile);
+        return service;
+    }
+
+    public static User user() {
+        User user = new User("aarav.sharma@example.com", null, "Aarav", "Sharma", "9876543210");
+        user.setId(123456L);
+        user.setRole(UserRole.CUSTOMER);
+        return user;
+    }
+}
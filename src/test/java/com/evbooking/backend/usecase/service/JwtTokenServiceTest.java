@@ -0,0 +1,57 @@
+package com.evbooking.backend.usecase.service;
+
+import com.evbooking.backend.domain.model.AuthenticatedUser;
+import com.evbooking.backend.domain.model.User;
+import com.evbooking.backend.domain.model.UserRole;
+import com.evbooking.backend.domain.model.UserStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenServiceTest {
+
+    @Test
+    void compactTokenVerifiesToUserIdAndRole() {
+        JwtTokenService service = newService("compact");
+
+        AuthenticatedUser principal = service.verifyAccessToken(service.generateAccessToken(sampleUser()))
+            .orElseThrow();
+
+        assertThat(principal.getUserId()).isEqualTo(123456L);
+        assertThat(principal.getRole()).isEqualTo(UserRole.STATION_OWNER);
+        assertThat(principal.getPhoneNumber()).isNull();
+        assertThat(principal.getExpiresAt()).isNotNull();
+    }
+
+    @Test
+    void fullTokensStillVerifyAfterSwitchingToCompact() {
+        String fullToken = newService("full").generateAccessToken(sampleUser());
+
+        AuthenticatedUser principal = newService("compact").verifyAccessToken(fullToken).orElseThrow();
+
+        assertThat(principal.getUserId()).isEqualTo(123456L);
+        assertThat(principal.getPhoneNumber()).isEqualTo("9876543210");
+        assertThat(principal.getStatus()).isEqualTo(UserStatus.ACTIVE);
+    }
+
+    @Test
+    void compactTokenShrinksAuthorizationHeader() {
+        User user = sampleUser();
+        int fullHeader = ("Bearer " + newService("full").generateAccessToken(user)).length();
+        int compactHeader = ("Bearer " + newService("compact").generateAccessToken(user)).length();
+
+        assertThat(compactHeader)
+            .as("Authorization header bytes, full=%d", fullHeader)
+            .isLessThan(fullHeader * 3 / 4);
+    }
+
+    private JwtTokenService newService(String profile) {
+        return JwtTestFixtures.tokenService(profile, false);
+    }
+
+    private User sampleUser() {
+        User user = JwtTestFixtures.user();
+        user.setRole(UserRole.STATION_OWNER);
+        return user;
+    }
+}
@@ -0,0 +1,141 @@
+package com.evbooking.backend.usecase.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OtpDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OtpDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void fullQueueRejectsWithoutBlocking() {
+        // Never started, so nothing drains (and there is nothing to stop)
+        OtpDispatcher dispatcher = newDispatcher(new RecordingProvider(0, 1), 2, 3);
+
+        assertThat(dispatcher.dispatch(message())).isTrue();
+        assertThat(dispatcher.tryReserve()).isTrue();
+        assertThat(dispatcher.dispatch(message())).isFalse();
+
+        dispatcher.cancelReservation();
+        assertThat(dispatcher.dispatch(message())).isTrue();
+        assertThat(count("rejected")).isEqualTo(1);
+    }
+
+    @Test
+    void retriesWithExponentialBackoffUntilDelivered() throws InterruptedException {
+        RecordingProvider provider = new RecordingProvider(2, 1);
+        dispatcher = newDispatcher(provider, 10, 3);
+        dispatcher.start();
+
+        dispatcher.dispatch(message());
+
+        assertThat(provider.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Long> attempts = provider.attemptTimes;
+        assertThat(attempts).hasSize(3);
+        assertThat(attempts.get(1) - attempts.get(0)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(attempts.get(2) - attempts.get(1)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(count("retried")).isEqualTo(2);
+        assertThat(count("sent")).isEqualTo(1);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() throws InterruptedException {
+        RecordingProvider provider = new RecordingProvider(Integer.MAX_VALUE, 1);
+        dispatcher = newDispatcher(provider, 10, 2);
+        dispatcher.start();
+
+        dispatcher.dispatch(message());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("failed") == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(count("failed")).isEqualTo(1);
+        assertThat(provider.attemptTimes).hasSize(2);
+    }
+
+    @Test
+    void queuedMessagesGoOutInOneBatch() throws InterruptedException {
+        RecordingProvider provider = new RecordingProvider(0, 10);
+        dispatcher = newDispatcher(provider, 10, 3);
+
+        dispatcher.dispatch(message());
+        dispatcher.dispatch(message());
+        dispatcher.dispatch(message());
+        dispatcher.start();
+
+        assertThat(provider.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(provider.batchSizes).containsExactly(3);
+        // Room is returned once the batch leaves the queue
+        for (int i = 0; i < 10; i++) {
+            assertThat(dispatcher.tryReserve()).isTrue();
+        }
+    }
+
+    private OtpDispatcher newDispatcher(SmsProvider provider, int queueCapacity, int maxAttempts) {
+        return new OtpDispatcher(provider, meterRegistry, queueCapacity, 1, maxAttempts,
+            Duration.ofMillis(50), Duration.ofSeconds(1));
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("otp.dispatch.messages", "result", result).count();
+    }
+
+    private static SmsMessage message() {
+        return new SmsMessage("9876543210", "Your OTP is: 1234. Valid for 5 minutes.");
+    }
+
+    /**
+     * Fails the first {@code failures} gateway calls, then succeeds.
+     */
+    private static final class RecordingProvider implements SmsProvider {
+        private final AtomicInteger remainingFailures;
+        private final int maxBatchSize;
+        final List<Long> attemptTimes = new CopyOnWriteArrayList<>();
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final CountDownLatch delivered = new CountDownLatch(1);
+
+        RecordingProvider(int failures, int maxBatchSize) {
+            this.remainingFailures = new AtomicInteger(failures);
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        @Override
+        public void send(SmsMessage message) throws Exception {
+            attemptTimes.add(System.nanoTime());
+            if (remainingFailures.getAndDecrement() > 0) {
+                throw new Exception("gateway unavailable");
+            }
+            delivered.countDown();
+        }
+
+        @Override
+        public void sendBatch(List<SmsMessage> messages) {
+            batchSizes.add(messages.size());
+            delivered.countDown();
+        }
+
+        @Override
+        public int maxBatchSize() {
+            return maxBatchSize;
+        }
+    }
+}
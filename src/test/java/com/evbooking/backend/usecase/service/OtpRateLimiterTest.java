@@ -0,0 +1,65 @@
+package com.evbooking.backend.usecase.service;
+
+import com.evbooking.backend.domain.repository.OtpRequestRepository;
+import com.evbooking.backend.infrastructure.ratelimit.InMemoryRateLimitBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OtpRateLimiterTest {
+
+    private OtpRequestRepository otpRequestRepository;
+
+    @BeforeEach
+    void setUp() {
+        otpRequestRepository = mock(OtpRequestRepository.class);
+    }
+
+    @Test
+    void allowsFivePerHourAcrossNumberFormats() {
+        OtpRateLimiter limiter = new OtpRateLimiter(new InMemoryRateLimitBackend(), otpRequestRepository, 5, Duration.ofHours(1));
+
+        assertThat(limiter.tryAcquire("9876543210")).isTrue();
+        assertThat(limiter.tryAcquire("+91 98765 43210")).isTrue();
+        assertThat(limiter.tryAcquire("919876543210")).isTrue();
+        assertThat(limiter.tryAcquire("98765-43210")).isTrue();
+        assertThat(limiter.tryAcquire("9876543210")).isTrue();
+        assertThat(limiter.tryAcquire("+919876543210")).isFalse();
+    }
+
+    @Test
+    void coldStartSeedsFromTheDatabaseByNormalizedNumber() {
+        when(otpRequestRepository.countByMobileNumberAndCreatedAtAfter(eq("9876543210"), any())).thenReturn(4);
+        OtpRateLimiter limiter = new OtpRateLimiter(new InMemoryRateLimitBackend(), otpRequestRepository, 5, Duration.ofHours(1));
+
+        assertThat(limiter.tryAcquire("+91 98765 43210")).isTrue();
+        assertThat(limiter.tryAcquire("9876543210")).isFalse();
+
+        // Seeded once; the backend tracks the number from then on
+        verify(otpRequestRepository, times(1)).countByMobileNumberAndCreatedAtAfter(eq("9876543210"), any());
+    }
+
+    @Test
+    void sharedBackendIsNeverSeeded() {
+        RateLimitBackend shared = mock(RateLimitBackend.class);
+        when(shared.isShared()).thenReturn(true);
+        when(shared.tryAcquire(anyString(), eq(5), eq(3_600_000L), anyLong())).thenReturn(true);
+        OtpRateLimiter limiter = new OtpRateLimiter(shared, otpRequestRepository, 5, Duration.ofHours(1));
+
+        assertThat(limiter.tryAcquire("9876543210")).isTrue();
+
+        verify(otpRequestRepository, never()).countByMobileNumberAndCreatedAtAfter(anyString(), any());
+    }
+}
@@ -0,0 +1,75 @@
+package com.evbooking.backend.usecase.service;
+
+import com.evbooking.backend.domain.model.AuthenticatedUser;
+import com.evbooking.backend.domain.model.UserRole;
+import com.evbooking.backend.domain.repository.UserRepository;
+import com.evbooking.backend.infrastructure.cluster.LocalClusterEventBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationRegistryTest {
+
+    private static final long LIFETIME_MILLIS = 3_600_000;
+
+    private UserRepository userRepository;
+    private LocalClusterEventBus eventBus;
+    private TokenRevocationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findTokenRevocationsAfter(any())).thenReturn(Map.of());
+        eventBus = new LocalClusterEventBus();
+        registry = new TokenRevocationRegistry(userRepository, eventBus, LIFETIME_MILLIS);
+        registry.start();
+    }
+
+    @Test
+    void revokeAllRejectsEarlierTokensOnly() {
+        Instant issuedBefore = Instant.now().minusSeconds(60);
+
+        registry.revokeAll(1L);
+
+        assertThat(registry.isRevoked(user(1L, issuedBefore))).isTrue();
+        assertThat(registry.isRevoked(user(1L, Instant.now().plusSeconds(1)))).isFalse();
+        assertThat(registry.isRevoked(user(2L, issuedBefore))).isFalse();
+        verify(userRepository).revokeTokensIssuedBefore(eq(1L), any());
+    }
+
+    @Test
+    void revocationFromAnotherNodeApplies() {
+        long cutoff = Instant.now().truncatedTo(ChronoUnit.SECONDS).toEpochMilli();
+
+        eventBus.publish("token-revocation", "7:" + cutoff);
+
+        assertThat(registry.isRevoked(user(7L, Instant.ofEpochMilli(cutoff - 1000)))).isTrue();
+    }
+
+    @Test
+    void refreshPicksUpMissedRevocations() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(5);
+        when(userRepository.findTokenRevocationsAfter(any())).thenReturn(Map.of(9L, cutoff));
+
+        registry.refresh();
+
+        Instant before = cutoff.minusMinutes(1).atZone(ZoneId.systemDefault()).toInstant();
+        assertThat(registry.isRevoked(user(9L, before))).isTrue();
+    }
+
+    private static AuthenticatedUser user(Long userId, Instant issuedAt) {
+        return new AuthenticatedUser(userId, null, UserRole.CUSTOMER, null, issuedAt, issuedAt.plusMillis(LIFETIME_MILLIS));
+    }
+}
@@ -0,0 +1,85 @@
+package com.evbooking.backend.usecase.service;
+
+import com.evbooking.backend.domain.model.AuthenticatedUser;
+import com.evbooking.backend.domain.model.UserRole;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    private final FakeTime time = new FakeTime();
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    void entryLeavesTheCacheAtExpEvenWithRoomToSpare() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10_000, new SimpleMeterRegistry(), time, time);
+        AuthenticatedUser user = userExpiringIn(Duration.ofMinutes(1));
+        Function<String, AuthenticatedUser> verifier = token -> {
+            verifications.incrementAndGet();
+            return user;
+        };
+
+        assertThat(cache.get(TOKEN, verifier)).isSameAs(user);
+        time.advance(Duration.ofSeconds(59));
+        assertThat(cache.peek(TOKEN)).isSameAs(user);
+        assertThat(cache.get(TOKEN, verifier)).isSameAs(user);
+        assertThat(verifications).hasValue(1);
+
+        time.advance(Duration.ofSeconds(1));
+
+        // Gone from the cache itself, so the token is verified again (and found expired)
+        assertThat(cache.peek(TOKEN)).isNull();
+        assertThat(cache.get(TOKEN, verifier)).isNull();
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void invalidTokenIsNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10_000, new SimpleMeterRegistry(), time, time);
+        Function<String, AuthenticatedUser> verifier = token -> {
+            verifications.incrementAndGet();
+            return null;
+        };
+
+        cache.get(TOKEN, verifier);
+        cache.get(TOKEN, verifier);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    private AuthenticatedUser userExpiringIn(Duration lifetime) {
+        Instant now = time.instant();
+        return new AuthenticatedUser(1L, null, UserRole.CUSTOMER, null, now, now.plus(lifetime));
+    }
+
+    /**
+     * Wall clock for exp claims and Caffeine ticker, moved together.
+     */
+    private static final class FakeTime extends Clock implements Ticker {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+        private long nanos;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+            nanos += duration.toNanos();
+        }
+
+        @Override public long read() { return nanos; }
+        @Override public Instant instant() { return now; }
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+    }
+}